@@ -0,0 +1,121 @@
+package com.kta.portal.admin;
+
+import com.kta.portal.admin.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login, list and detail under concurrent load with platform vs virtual request threads.
+ *
+ * 256 client threads against Tomcat's default 200 platform threads, so the platform run
+ * queues in Tomcat while the virtual run queues in the connection limiter. Caches are
+ * off so every request reaches PostgreSQL. Compare throughput, the {@code p0.99} rows
+ * and the {@code failed} counter (responses other than 200, e.g. 503 from the limiter)
+ * between the two {@code virtualThreads} values; results are only
+ * meaningful against the same database and hardware.
+ *
+ * Needs the PostgreSQL from {@code docker compose up} (or {@code -Djmh.datasource.url=...})
+ * with the default admin/user rows.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=VirtualThreadsLoadBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+public class VirtualThreadsLoadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest login;
+    private HttpRequest list;
+    private HttpRequest detail;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Responses {
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            failed = 0;
+        }
+
+        int count(HttpResponse<?> response) {
+            if (response.statusCode() != 200) {
+                failed++;
+            }
+            return response.statusCode();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "user.cache.enabled=false",
+                        "user.page-cache.enabled=false",
+                        "spring.datasource.url=" + System.getProperty("jmh.datasource.url", "jdbc:postgresql://localhost:5432/kta"),
+                        "logging.level.root=WARN")
+                .run();
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        String token = context.getBean(JwtTokenProvider.class).generateToken(1L, "admin", "관리자");
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"userid\":\"admin\",\"password\":\"admin\"}"))
+                .build();
+        list = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users?size=20"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        detail = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/1"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int login(Responses responses) throws Exception {
+        return responses.count(httpClient.send(login, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    @Benchmark
+    public int listUsers(Responses responses) throws Exception {
+        return responses.count(httpClient.send(list, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    @Benchmark
+    public int getUser(Responses responses) throws Exception {
+        return responses.count(httpClient.send(detail, HttpResponse.BodyHandlers.discarding()));
+    }
+}
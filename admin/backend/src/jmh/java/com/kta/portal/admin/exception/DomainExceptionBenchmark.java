@@ -0,0 +1,54 @@
+package com.kta.portal.admin.exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of throwing and catching a domain exception at a given call depth, against a
+ * plain {@link RuntimeException} that fills in its stack trace. A request reaches the
+ * services about 100 to 150 frames deep through the servlet, security and AOP layers.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=DomainExceptionBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DomainExceptionBenchmark {
+
+    @Param({"10", "150"})
+    public int depth;
+
+    @Benchmark
+    public String stackless() {
+        try {
+            return throwAt(depth, true);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String withStackTrace() {
+        try {
+            return throwAt(depth, false);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String throwAt(int depth, boolean stackless) {
+        if (depth > 0) {
+            return throwAt(depth - 1, stackless);
+        }
+        throw stackless
+                ? new ResourceNotFoundException("User not found")
+                : new RuntimeException("User not found");
+    }
+}
@@ -0,0 +1,91 @@
+package com.kta.portal.admin.feature.api.auth;
+
+import com.kta.portal.admin.shard.ShardRouter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login lookup through {@link UserAuthDao} against the previous {@code queryForMap} code,
+ * for a user that exists and for one that does not. Both sides share one connection, so
+ * the difference is row mapping and miss handling; run with {@code -prof gc} to compare
+ * allocation per lookup.
+ *
+ * Needs the PostgreSQL from {@code docker compose up} (or {@code -Djmh.datasource.url=...})
+ * with the default admin/user rows.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=UserAuthDaoBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserAuthDaoBenchmark {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private UserAuthDao userAuthDao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                System.getProperty("jmh.datasource.url", "jdbc:postgresql://localhost:5432/kta"), "kta", "kta", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        userAuthDao = new UserAuthDao(new ShardRouter(List.of(jdbcTemplate)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public Optional<UserCredentials> hitRowMapper() {
+        return userAuthDao.findCredentialsByUserid("admin");
+    }
+
+    @Benchmark
+    public Optional<UserCredentials> hitQueryForMap() {
+        return queryForMap("admin");
+    }
+
+    @Benchmark
+    public Optional<UserCredentials> missRowMapper() {
+        return userAuthDao.findCredentialsByUserid("nobody");
+    }
+
+    @Benchmark
+    public Optional<UserCredentials> missQueryForMap() {
+        return queryForMap("nobody");
+    }
+
+    /**
+     * The lookup as it was before {@link UserAuthDao}.
+     */
+    private Optional<UserCredentials> queryForMap(String userid) {
+        try {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT id, userid, password, name FROM users WHERE userid = ?", userid);
+            return Optional.of(new UserCredentials(
+                    ((Number) row.get("id")).longValue(),
+                    (String) row.get("userid"),
+                    (String) row.get("password"),
+                    (String) row.get("name")));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.Application;
+import com.kta.portal.admin.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of not-found answers, the bulk of scanner traffic: {@code GET} and
+ * {@code DELETE /api/users/{id}} for ids that do not exist. Run it on this commit and
+ * on its parent to see what building 404s without exceptions and stack traces is worth;
+ * it only uses HTTP, so the class can be copied onto the parent unchanged (see
+ * {@code docs/operations/benchmarks.md}). {@code -prof gc} shows the allocation side.
+ *
+ * Needs the PostgreSQL from {@code docker compose up} (or {@code -Djmh.datasource.url=...}).
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=GetMissingUserThroughputBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class GetMissingUserThroughputBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUri;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + System.getProperty("jmh.datasource.url", "jdbc:postgresql://localhost:5432/kta"),
+                        "logging.level.root=WARN")
+                .run();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        authorization = "Bearer " + context.getBean(JwtTokenProvider.class).generateToken(1L, "admin", "관리자");
+        baseUri = "http://localhost:" + port + "/api/users/";
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getMissingUser() throws Exception {
+        return send(HttpRequest.newBuilder(missingUser()).GET());
+    }
+
+    @Benchmark
+    public int deleteMissingUser() throws Exception {
+        return send(HttpRequest.newBuilder(missingUser()).DELETE());
+    }
+
+    /**
+     * Spread over many ids so concurrent misses are not coalesced into one query.
+     */
+    private URI missingUser() {
+        return URI.create(baseUri + ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE));
+    }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.header("Authorization", authorization).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
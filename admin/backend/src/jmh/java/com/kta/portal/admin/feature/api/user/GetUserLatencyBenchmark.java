@@ -0,0 +1,73 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.Application;
+import com.kta.portal.admin.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end latency of {@code GET /api/users/{id}} with the user cache on and off.
+ * Sample-time mode reports the percentile distribution; compare the {@code p0.99} rows.
+ *
+ * Needs the PostgreSQL from {@code docker compose up} (or {@code -Djmh.datasource.url=...})
+ * with the default admin/user rows.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=GetUserLatencyBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GetUserLatencyBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties(
+                        "server.port=0",
+                        "user.cache.enabled=" + cacheEnabled,
+                        "spring.datasource.url=" + System.getProperty("jmh.datasource.url", "jdbc:postgresql://localhost:5432/kta"),
+                        "logging.level.root=WARN")
+                .run();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String token = context.getBean(JwtTokenProvider.class).generateToken(1L, "admin", "관리자");
+
+        httpClient = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/1"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String getUser() throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,136 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.Application;
+import com.kta.portal.admin.feature.repository.UserRepository;
+import com.kta.portal.admin.feature.repository.model.User;
+import com.kta.portal.admin.jdbc.CountingSocketFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A 20 row {@code GET /api/users} page loaded through the {@code User} entity, as before
+ * the password-free projections, against the {@link GetUsersService} path that reads
+ * {@code UserRow}s. Both include the count query and the mapping to response DTOs.
+ *
+ * Run with {@code -prof gc} for allocation per page. Bytes received from PostgreSQL per
+ * page are counted on the driver's socket ({@link CountingSocketFactory}) and printed
+ * once per trial.
+ *
+ * Needs the PostgreSQL from {@code docker compose up} (or {@code -Djmh.datasource.url=...}).
+ * The setup adds 20 users with bcrypt-length password hashes, so the page is full, and
+ * removes them again.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=GetUsersProjectionBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GetUsersProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String USERID_PREFIX = "jmh-projection-";
+    private static final String BCRYPT_HASH = "{bcrypt}$2a$10$" + "x".repeat(53);
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private GetUsersService getUsersService;
+    private JdbcTemplate jdbcTemplate;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + CountingSocketFactory.enable(
+                                System.getProperty("jmh.datasource.url", "jdbc:postgresql://localhost:5432/kta")),
+                        "user.page-cache.enabled=false",
+                        "user.invalidation.transport=none",
+                        "logging.level.root=WARN")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+        getUsersService = context.getBean(GetUsersService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("id").ascending());
+
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO users (userid, password, name, created_at, updated_at)
+                    VALUES (?, ?, ?, now(), now())
+                    ON CONFLICT (userid) DO NOTHING
+                    """, USERID_PREFIX + i, BCRYPT_HASH, "벤치마크 " + i);
+        }
+
+        System.out.printf("%nbytes received per page: entity=%d projection=%d%n",
+                bytesReceived(this::entityPage), bytesReceived(this::projectionPage));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE userid LIKE ?", USERID_PREFIX + "%");
+        context.close();
+    }
+
+    @Benchmark
+    public GetUsersPageResponseDto entityPage() {
+        Page<User> userPage = userRepository.findAll(pageable);
+        List<GetUsersHttpResponseDto> users = userPage.getContent().stream()
+                .map(user -> {
+                    GetUsersHttpResponseDto dto = new GetUsersHttpResponseDto();
+                    dto.setId(user.getId());
+                    dto.setUserid(user.getUserid());
+                    dto.setName(user.getName());
+                    dto.setCreatedAt(user.getCreatedAt());
+                    dto.setUpdatedAt(user.getUpdatedAt());
+                    return dto;
+                })
+                .toList();
+        GetUsersPageResponseDto response = new GetUsersPageResponseDto();
+        response.setContent(users);
+        response.setPage(userPage.getNumber());
+        response.setSize(userPage.getSize());
+        response.setTotalElements(userPage.getTotalElements());
+        response.setTotalPages(userPage.getTotalPages());
+        response.setFirst(userPage.isFirst());
+        response.setLast(userPage.isLast());
+        return response;
+    }
+
+    @Benchmark
+    public GetUsersPageResponseDto projectionPage() {
+        return getUsersService.getAllUsers(0, PAGE_SIZE, "id", "asc", UserField.ALL);
+    }
+
+    /**
+     * Smallest count over a few runs, so a background query landing in one run does not
+     * inflate the figure.
+     */
+    private static long bytesReceived(Supplier<?> page) {
+        page.get();
+        long smallest = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            long before = CountingSocketFactory.received();
+            page.get();
+            smallest = Math.min(smallest, CountingSocketFactory.received() - before);
+        }
+        return smallest;
+    }
+}
@@ -0,0 +1,73 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kta.portal.admin.dto.ResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a 500 row {@code GET /api/users} page with and without {@code fields=}.
+ * Payload sizes are printed once per trial.
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=UserFieldsSerializationBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserFieldsSerializationBenchmark {
+
+    @Param({"all", "id,userid", "id,userid,name"})
+    public String fields;
+
+    private ObjectMapper objectMapper;
+    private ResponseDto<GetUsersPageResponseDto> page;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        Set<UserField> selected = UserField.parse("all".equals(fields) ? null : fields);
+        LocalDateTime now = LocalDateTime.now();
+        List<GetUsersHttpResponseDto> content = new ArrayList<>(500);
+        for (int i = 0; i < 500; i++) {
+            GetUsersHttpResponseDto dto = new GetUsersHttpResponseDto();
+            dto.setId(selected.contains(UserField.ID) ? (long) i : null);
+            dto.setUserid(selected.contains(UserField.USERID) ? "user" + i : null);
+            dto.setName(selected.contains(UserField.NAME) ? "사용자 " + i : null);
+            dto.setCreatedAt(selected.contains(UserField.CREATED_AT) ? now : null);
+            dto.setUpdatedAt(selected.contains(UserField.UPDATED_AT) ? now : null);
+            content.add(dto);
+        }
+        GetUsersPageResponseDto body = new GetUsersPageResponseDto();
+        body.setContent(content);
+        body.setSize(500);
+        body.setTotalElements(500);
+        body.setTotalPages(1);
+        body.setFirst(true);
+        body.setLast(true);
+        page = ResponseDto.success(body);
+
+        System.out.printf("%nfields=[%s] payload=%d bytes%n", fields, objectMapper.writeValueAsBytes(page).length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,142 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.Application;
+import com.kta.portal.admin.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained per idle {@code GET /api/users/stream} connection.
+ *
+ * Opens {@code connections} subscribers over plain sockets, waits until every one has
+ * received its {@code ready} event, and reports the heap growth after GC divided by the
+ * connection count as the {@code bytesPerConnection} counter. Client and server share
+ * the JVM, so the figure includes the client sockets and is an upper bound for the
+ * server side. Also reports the live thread count, which should not grow with idle
+ * subscribers.
+ *
+ * Needs the PostgreSQL from {@code docker compose up} (or {@code -Djmh.datasource.url=...}).
+ *
+ * <pre>./gradlew jmh -PjmhIncludes=UserStreamMemoryBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserStreamMemoryBenchmark {
+
+    @Param({"1000", "4000"})
+    public int connections;
+
+    private ConfigurableApplicationContext context;
+    private UserEventBroadcaster broadcaster;
+    private String port;
+    private String token;
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerConnection;
+        public long threads;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties(
+                        "server.port=0",
+                        // closed sockets are only noticed by the next heartbeat, leave room for them
+                        "server.tomcat.max-connections=" + (connections * 2 + 100),
+                        "user.stream.max-subscribers=" + connections * 2,
+                        "user.stream.heartbeat-interval=1s",
+                        "spring.datasource.url=" + System.getProperty("jmh.datasource.url", "jdbc:postgresql://localhost:5432/kta"),
+                        "logging.level.root=WARN")
+                .run();
+        port = context.getEnvironment().getProperty("local.server.port");
+        token = context.getBean(JwtTokenProvider.class).generateToken(1L, "admin", "관리자");
+        broadcaster = context.getBean(UserEventBroadcaster.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeConnections() throws Exception {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        sockets.clear();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (broadcaster.subscriberCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void openIdleConnections(Footprint footprint) throws Exception {
+        long before = usedHeapAfterGc();
+        byte[] request = ("GET /api/users/stream HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Accept: text/event-stream\r\n"
+                + "Authorization: Bearer " + token + "\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < connections; i++) {
+            Socket socket = new Socket("localhost", Integer.parseInt(port));
+            OutputStream out = socket.getOutputStream();
+            out.write(request);
+            out.flush();
+            sockets.add(socket);
+        }
+        for (Socket socket : sockets) {
+            awaitReady(socket.getInputStream());
+        }
+        if (broadcaster.subscriberCount() < connections) {
+            throw new IllegalStateException("Only " + broadcaster.subscriberCount() + " subscribers connected");
+        }
+        footprint.bytesPerConnection = (usedHeapAfterGc() - before) / connections;
+        footprint.threads = ManagementFactory.getThreadMXBean().getThreadCount();
+    }
+
+    private static void awaitReady(InputStream in) throws IOException {
+        byte[] marker = "event:ready".getBytes(StandardCharsets.US_ASCII);
+        int matched = 0;
+        int b;
+        while ((b = in.read()) >= 0) {
+            matched = b == marker[matched] ? matched + 1 : (b == marker[0] ? 1 : 0);
+            if (matched == marker.length) {
+                return;
+            }
+        }
+        throw new IOException("Stream closed before the ready event");
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
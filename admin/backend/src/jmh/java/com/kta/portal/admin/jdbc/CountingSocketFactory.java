@@ -0,0 +1,88 @@
+package com.kta.portal.admin.jdbc;
+
+import javax.net.SocketFactory;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PostgreSQL driver socket factory that counts every byte the driver receives, for
+ * benchmarks that compare how much a query transfers. Enable it on the JDBC URL with
+ * {@code socketFactory=com.kta.portal.admin.jdbc.CountingSocketFactory}; the count is
+ * shared by every connection in the JVM.
+ */
+public class CountingSocketFactory extends SocketFactory {
+
+    private static final AtomicLong RECEIVED = new AtomicLong();
+
+    public static long received() {
+        return RECEIVED.get();
+    }
+
+    /**
+     * @return {@code url} with this factory added as a connection property
+     */
+    public static String enable(String url) {
+        return url + (url.contains("?") ? "&" : "?") + "socketFactory=" + CountingSocketFactory.class.getName();
+    }
+
+    @Override
+    public Socket createSocket() {
+        return new CountingSocket();
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return connected(new CountingSocket(), host, port);
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return connected(new CountingSocket(), host, port);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return connected(new CountingSocket(), host.getHostAddress(), port);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+        return connected(new CountingSocket(), address.getHostAddress(), port);
+    }
+
+    private static Socket connected(Socket socket, String host, int port) throws IOException {
+        socket.connect(new InetSocketAddress(host, port));
+        return socket;
+    }
+
+    private static final class CountingSocket extends Socket {
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        RECEIVED.incrementAndGet();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int n = super.read(buffer, offset, length);
+                    if (n > 0) {
+                        RECEIVED.addAndGet(n);
+                    }
+                    return n;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.kta.portal.admin.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many callers may hold or wait for a pooled connection.
+ *
+ * With virtual threads every request gets its own thread, so under load thousands of
+ * them can queue inside the connection pool for its full connection timeout. This
+ * wrapper admits at most {@code limit} callers (normally the pool size) in FIFO order;
+ * the rest wait at most {@code acquireTimeout} and then fail fast with
+ * {@link SQLTransientConnectionException}, which surfaces as 503.
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+    private final int limit;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final LongAdder rejected = new LongAdder();
+
+    public BoundedDataSource(DataSource targetDataSource, int limit, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.limit = limit;
+        this.permits = new Semaphore(limit, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return bind(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return bind(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInUse() {
+        return limit - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * @param pool {@code primary} or the shard pool name, as the {@code pool} tag
+     */
+    public void bindTo(MeterRegistry registry, String pool) {
+        Gauge.builder("db.limiter.limit", this, BoundedDataSource::getLimit)
+                .description("Callers allowed to hold or wait for a connection")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("db.limiter.in.use", this, BoundedDataSource::getInUse)
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("db.limiter.waiting", this, BoundedDataSource::getWaiting)
+                .tag("pool", pool)
+                .register(registry);
+        FunctionCounter.builder("db.limiter.rejected", rejected, LongAdder::sum)
+                .description("Connection requests that timed out in the limiter")
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new SQLTransientConnectionException(
+                    "Database connection limit of " + limit + " reached, waited " + acquireTimeout.toMillis() + " ms");
+        }
+    }
+
+    /**
+     * Returns the permit when the connection is closed, at most once.
+     */
+    private Connection bind(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "close" -> {
+                try {
+                    yield invoke(connection, method, args);
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+            }
+            default -> invoke(connection, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(
+                BoundedDataSource.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -1,9 +1,34 @@
 package com.kta.portal.admin.config;
 
+import com.kta.portal.admin.deadline.DeadlineAwareJdbcTemplate;
+import org.springframework.boot.autoconfigure.jdbc.JdbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jdbc.repository.config.EnableJdbcRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
 
 @Configuration
 @EnableJdbcRepositories(basePackages = "com.kta.portal.admin.feature.repository")
+@EnableConfigurationProperties(JdbcProperties.class)
 public class DataConfiguration {
-}
\ No newline at end of file
+
+    /**
+     * Replaces Boot's {@code JdbcTemplate} so that every DAO, the
+     * {@code NamedParameterJdbcTemplate} built on it and the Spring Data JDBC
+     * repositories honour the request deadline.
+     */
+    @Bean
+    JdbcTemplate jdbcTemplate(DataSource dataSource, JdbcProperties properties) {
+        JdbcTemplate jdbcTemplate = new DeadlineAwareJdbcTemplate(dataSource);
+        JdbcProperties.Template template = properties.getTemplate();
+        jdbcTemplate.setFetchSize(template.getFetchSize());
+        jdbcTemplate.setMaxRows(template.getMaxRows());
+        if (template.getQueryTimeout() != null) {
+            jdbcTemplate.setQueryTimeout((int) template.getQueryTimeout().getSeconds());
+        }
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,55 @@
+package com.kta.portal.admin.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Wraps the Hikari pool in a {@link BoundedDataSource}. Enabled together with virtual
+ * threads by default ({@code db.limiter.enabled=${spring.threads.virtual.enabled}}).
+ * The shard pools are not beans; {@link ShardConfiguration} wraps them itself.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.limiter.enabled", havingValue = "true")
+public class DataSourceLimiterConfiguration {
+
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(
+            @Value("${db.limiter.max-concurrent:0}") int maxConcurrent,
+            @Value("${db.limiter.acquire-timeout:1s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    int limit = maxConcurrent > 0 ? maxConcurrent : hikari.getMaximumPoolSize();
+                    return new BoundedDataSource(hikari, limit, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Binds the limiter of the primary pool, also when it sits behind replica routing.
+     */
+    @Bean
+    MeterBinder boundedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(BoundedDataSource.class)) {
+                    dataSource.unwrap(BoundedDataSource.class).bindTo(registry, "primary");
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to unwrap the data source", e);
+            }
+        };
+    }
+}
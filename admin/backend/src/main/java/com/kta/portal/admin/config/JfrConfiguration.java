@@ -0,0 +1,20 @@
+package com.kta.portal.admin.config;
+
+import com.kta.portal.admin.jfr.DaoQueryEventPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * DAO query events for on-demand flight recordings ({@code /actuator/jfr}). The auth
+ * events are emitted inline and cost a disabled-check when no recording enables them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jfr.enabled", havingValue = "true")
+public class JfrConfiguration {
+
+    @Bean
+    static DaoQueryEventPostProcessor daoQueryEventPostProcessor() {
+        return new DaoQueryEventPostProcessor();
+    }
+}
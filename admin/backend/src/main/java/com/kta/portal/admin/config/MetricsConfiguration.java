@@ -0,0 +1,49 @@
+package com.kta.portal.admin.config;
+
+import com.kta.portal.admin.metrics.TimedComponentPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Timers for the service and DAO layers. Endpoints are covered by Spring's
+ * {@code http.server.requests}, password hashing by {@code TimedPasswordEncoder} and
+ * JWT handling by {@code JwtTokenProvider}; see {@code docs/operations/metrics.md}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Upper bound on distinct {@code operation} values per timer. The values come from
+     * method names, so this is only reached by a bug; further series are dropped rather
+     * than growing the scrape without bound.
+     */
+    private static final int MAX_OPERATIONS = 200;
+
+    @Bean
+    static TimedComponentPostProcessor timedRepositoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TimedComponentPostProcessor(Repository.class, "dao.invocations",
+                "DAO and repository method calls", true, meterRegistry);
+    }
+
+    @Bean
+    static TimedComponentPostProcessor timedServicePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TimedComponentPostProcessor(Service.class, "service.invocations",
+                "Service method calls", false, meterRegistry);
+    }
+
+    @Bean
+    MeterRegistryCustomizer<MeterRegistry> operationTagLimits() {
+        return registry -> {
+            for (String name : new String[]{"dao.invocations", "service.invocations", "password.encoder", "jwt.tokens"}) {
+                registry.config().meterFilter(
+                        MeterFilter.maximumAllowableTags(name, "operation", MAX_OPERATIONS, MeterFilter.deny()));
+            }
+        };
+    }
+}
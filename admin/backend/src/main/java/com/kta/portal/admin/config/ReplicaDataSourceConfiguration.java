@@ -0,0 +1,113 @@
+package com.kta.portal.admin.config;
+
+import com.kta.portal.admin.replica.ReadReplicaPostProcessor;
+import com.kta.portal.admin.replica.ReplicaLagMonitor;
+import com.kta.portal.admin.replica.ReplicaRouting;
+import com.kta.portal.admin.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits the application {@link DataSource} into a primary and a replica pool behind a
+ * {@link ReplicaRoutingDataSource}. Read-only transactions and {@code @ReadReplica}
+ * DAOs use the replica while {@link ReplicaRouting} considers it fresh enough.
+ *
+ * The primary pool is configured as before ({@code spring.datasource.*}); the replica
+ * pool is a Hikari pool bound to {@code replica.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    static ReadReplicaPostProcessor readReplicaPostProcessor() {
+        return new ReadReplicaPostProcessor();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                       ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        HikariDataSource dataSource = DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .driverClassName(details != null ? details.getDriverClassName() : properties.determineDriverClassName())
+                .url(details != null ? details.getJdbcUrl() : properties.determineUrl())
+                .username(details != null ? details.getUsername() : properties.determineUsername())
+                .password(details != null ? details.getPassword() : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource")
+    HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    ReplicaRouting replicaRouting(@Value("${replica.max-lag:1s}") Duration maxLag,
+                                  @Value("${replica.lag-check-interval:500ms}") Duration checkInterval,
+                                  @Value("${replica.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        return new ReplicaRouting(maxLag, checkInterval, readYourWritesWindow);
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                        @Qualifier("replicaDataSource") DataSource replica,
+                                        ReplicaRouting routing,
+                                        @Value("${replica.lag-check-interval:500ms}") Duration checkInterval) {
+        return new ReplicaLagMonitor(primary, replica, routing, checkInterval);
+    }
+
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                      @Qualifier("replicaDataSource") DataSource replica,
+                                                      ReplicaRouting routing) {
+        return new ReplicaRoutingDataSource(primary, replica, routing);
+    }
+
+    /**
+     * The data source everything else injects. Connections are fetched lazily so the
+     * routing decision sees the transaction's read-only flag.
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    MeterBinder replicaRoutingMetrics(ReplicaRoutingDataSource routingDataSource, ReplicaRouting routing) {
+        return registry -> {
+            routingDataSource.bindTo(registry);
+            Gauge.builder("db.replica.lag", routing, r -> r.lag() != null ? r.lag().toMillis() / 1000.0 : Double.NaN)
+                    .description("Replication lag measured on the replica")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("db.replica.fresh", routing, r -> r.isReplicaFresh() ? 1 : 0)
+                    .description("1 while reads may be routed to the replica")
+                    .register(registry);
+        };
+    }
+}
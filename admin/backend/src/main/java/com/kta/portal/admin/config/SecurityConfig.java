@@ -3,18 +3,28 @@ package com.kta.portal.admin.config;
 import com.kta.portal.admin.security.JwtAccessDeniedHandler;
 import com.kta.portal.admin.security.JwtAuthenticationEntryPoint;
 import com.kta.portal.admin.security.JwtAuthenticationFilter;
+import com.kta.portal.admin.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+import java.util.Set;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -25,8 +35,14 @@ public class SecurityConfig {
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
 
+    /**
+     * Flight recordings expose thread names, SQL timings and JVM details, so
+     * {@code /actuator/jfr} is limited to the userids in {@code jfr.allowed-users}; every
+     * other authenticated user gets 403.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           @Value("${jfr.allowed-users:admin}") Set<String> jfrAllowedUsers) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session
@@ -38,6 +54,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/logout").permitAll()
                 .requestMatchers("/api/security-test/public").permitAll()
                 .requestMatchers("/api/**").authenticated()
+                .requestMatchers(EndpointRequest.to("jfr")).access((authentication, context) ->
+                    new AuthorizationDecision(authentication.get().isAuthenticated()
+                        && jfrAllowedUsers.contains(authentication.get().getName())))
                 .anyRequest().authenticated()
             )
             .exceptionHandling(exception -> exception
@@ -49,8 +68,16 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * New hashes are {@code {bcrypt}} at {@code security.password.bcrypt-strength}; stored
+     * hashes with any other id or cost still match through the standard delegating encoder.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+                "bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+        encoder.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return new TimedPasswordEncoder(encoder, meterRegistry);
     }
 }
\ No newline at end of file
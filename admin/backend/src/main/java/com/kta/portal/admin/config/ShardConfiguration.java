@@ -0,0 +1,76 @@
+package com.kta.portal.admin.config;
+
+import com.kta.portal.admin.deadline.DeadlineAwareJdbcTemplate;
+import com.kta.portal.admin.shard.ShardRouter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the {@link ShardRouter}. Shard 0 is always the application data source
+ * ({@code spring.datasource.*}); with {@code shard.enabled=true} every entry of
+ * {@code shard.nodes[n]} (Hikari properties: {@code jdbc-url}, {@code username},
+ * {@code password}, {@code maximum-pool-size}, ...) adds shard {@code n + 1}.
+ *
+ * With {@code db.limiter.enabled} each node pool gets its own {@link BoundedDataSource},
+ * configured by the same {@code db.limiter.*} properties as the primary pool.
+ */
+@Slf4j
+@Configuration
+public class ShardConfiguration implements DisposableBean {
+
+    private final List<HikariDataSource> nodePools = new ArrayList<>();
+
+    @Bean
+    ShardRouter shardRouter(JdbcTemplate jdbcTemplate,
+                            @Value("${shard.enabled:false}") boolean enabled,
+                            @Value("${db.limiter.enabled:false}") boolean limiterEnabled,
+                            @Value("${db.limiter.max-concurrent:0}") int maxConcurrent,
+                            @Value("${db.limiter.acquire-timeout:1s}") Duration acquireTimeout,
+                            Environment environment,
+                            MeterRegistry meterRegistry) {
+        List<JdbcTemplate> shards = new ArrayList<>();
+        shards.add(jdbcTemplate);
+        if (enabled) {
+            List<HikariConfig> nodes = Binder.get(environment)
+                    .bind("shard.nodes", Bindable.listOf(HikariConfig.class))
+                    .orElse(List.of());
+            for (HikariConfig node : nodes) {
+                node.setPoolName("shard-" + shards.size());
+                node.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                HikariDataSource pool = new HikariDataSource(node);
+                nodePools.add(pool);
+                DataSource dataSource = pool;
+                if (limiterEnabled) {
+                    int limit = maxConcurrent > 0 ? maxConcurrent : pool.getMaximumPoolSize();
+                    BoundedDataSource bounded = new BoundedDataSource(pool, limit, acquireTimeout);
+                    bounded.bindTo(meterRegistry, node.getPoolName());
+                    dataSource = bounded;
+                }
+                shards.add(new DeadlineAwareJdbcTemplate(dataSource));
+            }
+            log.info("User storage sharded across {} nodes", shards.size());
+        }
+        return new ShardRouter(shards);
+    }
+
+    @Override
+    public void destroy() {
+        nodePools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,50 @@
+package com.kta.portal.admin.deadline;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * {@link JdbcTemplate} that never lets a statement outlive the request: before each
+ * statement it fails fast if the {@link RequestDeadline} has passed, and otherwise
+ * caps the statement's query timeout at the time remaining. JDBC timeouts are whole
+ * seconds, so the remainder is rounded up.
+ *
+ * PostgreSQL reports a cancelled statement as SQLSTATE {@value #QUERY_CANCELED}; after
+ * the deadline that is translated into a {@code DeadlineExceededException}.
+ */
+public class DeadlineAwareJdbcTemplate extends JdbcTemplate {
+
+    static final String QUERY_CANCELED = "57014";
+
+    public DeadlineAwareJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return;
+        }
+        deadline.check();
+        long remainingMillis = deadline.remaining().toMillis();
+        int seconds = (int) Math.max(1, (remainingMillis + 999) / 1000);
+        if (stmt.getQueryTimeout() == 0 || seconds < stmt.getQueryTimeout()) {
+            stmt.setQueryTimeout(seconds);
+        }
+    }
+
+    @Override
+    protected DataAccessException translateException(String task, String sql, SQLException ex) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && QUERY_CANCELED.equals(ex.getSQLState()) && deadline.isExpired()) {
+            throw deadline.exceeded(ex);
+        }
+        return super.translateException(task, sql, ex);
+    }
+}
@@ -0,0 +1,91 @@
+package com.kta.portal.admin.deadline;
+
+import com.kta.portal.admin.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Point in time by which the current request must be answered, bound to the request
+ * thread by {@link RequestDeadlineFilter}. Code running outside a request (startup,
+ * background jobs, async export writers) has no deadline.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Duration timeout;
+    private volatile boolean exceeded;
+
+    private RequestDeadline(Duration timeout) {
+        this.timeout = timeout;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * @return the deadline of the current request, or {@code null}
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    static RequestDeadline start(Duration timeout) {
+        RequestDeadline deadline = new RequestDeadline(timeout);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs {@code task} on the calling thread under {@code deadline}, for work a request
+     * fans out to other threads.
+     */
+    public static <T> T callWith(RequestDeadline deadline, Supplier<T> task) {
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Fails fast instead of starting work whose result nobody will wait for.
+     *
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public void check() {
+        if (isExpired()) {
+            throw exceeded(null);
+        }
+    }
+
+    /**
+     * Marks the request as failed by its deadline and returns the exception to throw.
+     */
+    public DeadlineExceededException exceeded(Throwable cause) {
+        exceeded = true;
+        return new DeadlineExceededException("Request deadline of " + timeout.toMillis() + " ms exceeded", cause);
+    }
+
+    boolean wasExceeded() {
+        return exceeded;
+    }
+}
@@ -0,0 +1,103 @@
+package com.kta.portal.admin.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Gives every API request a {@link RequestDeadline}: the client's
+ * {@value #TIMEOUT_HEADER} (milliseconds, capped at {@code request-deadline.max}) or
+ * the endpoint's default. Statements issued through the application's
+ * {@code JdbcTemplate} are bounded by the time left, so a request the client has given
+ * up on stops holding a connection.
+ *
+ * Requests that failed by their deadline are counted in
+ * {@code http.server.deadline.exceeded}, tagged with {@code method} and {@code uri}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Duration defaultTimeout;
+    private final Duration longRunningTimeout;
+    private final Duration maxTimeout;
+    private final MeterRegistry meterRegistry;
+
+    public RequestDeadlineFilter(@Value("${request-deadline.default:10s}") Duration defaultTimeout,
+                                 @Value("${request-deadline.long-running:5m}") Duration longRunningTimeout,
+                                 @Value("${request-deadline.max:5m}") Duration maxTimeout,
+                                 MeterRegistry meterRegistry) {
+        this.defaultTimeout = defaultTimeout;
+        this.longRunningTimeout = longRunningTimeout;
+        this.maxTimeout = maxTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Duration timeout = timeout(request);
+        if (timeout == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestDeadline deadline = RequestDeadline.start(timeout);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+            if (deadline.wasExceeded()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Counter.builder("http.server.deadline.exceeded")
+                        .description("Requests that failed because their deadline passed")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+    }
+
+    /**
+     * @return the request's timeout, or {@code null} for requests without a deadline:
+     *         anything outside the API, and the export and stream responses, which are
+     *         written asynchronously and bounded by the async request timeout instead
+     */
+    Duration timeout(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/") || path.equals("/api/users/export") || path.equals("/api/users/stream")) {
+            return null;
+        }
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                long millis = Long.parseLong(header.trim());
+                if (millis >= 0) {
+                    Duration requested = Duration.ofMillis(millis);
+                    return requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+                }
+            } catch (NumberFormatException e) {
+                // fall back to the endpoint default
+            }
+        }
+        if (path.equals("/api/users/import") || path.equals("/api/users/bulk-update")
+                || path.equals("/api/users/bulk-delete")) {
+            return longRunningTimeout;
+        }
+        return defaultTimeout;
+    }
+}
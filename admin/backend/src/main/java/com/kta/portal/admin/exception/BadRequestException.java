@@ -2,10 +2,10 @@ package com.kta.portal.admin.exception;
 
 public class BadRequestException extends RuntimeException {
     public BadRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public BadRequestException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
\ No newline at end of file
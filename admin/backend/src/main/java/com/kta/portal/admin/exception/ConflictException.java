@@ -0,0 +1,11 @@
+package com.kta.portal.admin.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message, null, false, false);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kta.portal.admin.exception;
+
+import com.kta.portal.admin.dto.ErrorDetail;
+import com.kta.portal.admin.dto.ResponseDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Error envelopes for expected outcomes such as a missing user or a taken userid.
+ * Controllers return these directly instead of throwing, and
+ * {@link GlobalExceptionHandler} builds the same bodies for the exceptions that remain.
+ */
+public final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    public static <T> ResponseEntity<ResponseDto<T>> notFound(String message) {
+        return of(HttpStatus.BAD_REQUEST, "NOT_FOUND", message);
+    }
+
+    public static <T> ResponseEntity<ResponseDto<T>> conflict(String message) {
+        return of(HttpStatus.CONFLICT, "CONFLICT", message);
+    }
+
+    public static <T> ResponseEntity<ResponseDto<T>> preconditionFailed(String message) {
+        return of(HttpStatus.PRECONDITION_FAILED, "PRECONDITION_FAILED", message);
+    }
+
+    public static <T> ResponseEntity<ResponseDto<T>> gone(String message) {
+        return of(HttpStatus.GONE, "GONE", message);
+    }
+
+    private static <T> ResponseEntity<ResponseDto<T>> of(HttpStatus status, String code, String message) {
+        List<ErrorDetail> errors = List.of(ErrorDetail.builder()
+                .message(message)
+                .code(code)
+                .build());
+        return ResponseEntity.status(status)
+                .body(ResponseDto.error(errors));
+    }
+}
@@ -2,10 +2,10 @@ package com.kta.portal.admin.exception;
 
 public class ForbiddenException extends RuntimeException {
     public ForbiddenException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ForbiddenException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.kta.portal.admin.exception;
 
 import com.kta.portal.admin.dto.ErrorDetail;
 import com.kta.portal.admin.dto.ResponseDto;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -47,11 +50,54 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ResponseDto<Object>> handleNotFound(ResourceNotFoundException e) {
+        return ErrorResponses.notFound(e.getMessage());
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ResponseDto<Object>> handleConflict(ConflictException e) {
+        return ErrorResponses.conflict(e.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ResponseDto<Object>> handlePreconditionFailed(PreconditionFailedException e) {
+        return ErrorResponses.preconditionFailed(e.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ResponseDto<Object>> handleServiceUnavailable(ServiceUnavailableException e) {
         List<ErrorDetail> errors = List.of(ErrorDetail.builder()
                 .message(e.getMessage())
-                .code("NOT_FOUND")
+                .code("SERVICE_UNAVAILABLE")
                 .build());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ResponseDto.error(errors));
+    }
+
+    /**
+     * No connection within the limiter or pool timeout: the database is saturated and
+     * the client should back off rather than see a generic 500.
+     */
+    @ExceptionHandler({CannotGetJdbcConnectionException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ResponseDto<Object>> handleConnectionUnavailable(Exception e) {
+        List<ErrorDetail> errors = List.of(ErrorDetail.builder()
+                .message("Database is busy, retry later")
+                .code("SERVICE_UNAVAILABLE")
+                .build());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ResponseDto.error(errors));
+    }
+
+    /**
+     * The request deadline passed, either before a statement was started or while the
+     * database was still running it.
+     */
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ResponseEntity<ResponseDto<Object>> handleDeadlineExceeded(Exception e) {
+        List<ErrorDetail> errors = List.of(ErrorDetail.builder()
+                .message("Request deadline exceeded")
+                .code("DEADLINE_EXCEEDED")
+                .build());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
                 .body(ResponseDto.error(errors));
     }
 
@@ -0,0 +1,11 @@
+package com.kta.portal.admin.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message, null, false, false);
+    }
+
+    public PreconditionFailedException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.kta.portal.admin.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -2,10 +2,10 @@ package com.kta.portal.admin.exception;
 
 public class UnauthorizedException extends RuntimeException {
     public UnauthorizedException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public UnauthorizedException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
\ No newline at end of file
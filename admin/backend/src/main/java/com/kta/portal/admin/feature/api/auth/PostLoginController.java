@@ -3,10 +3,10 @@ package com.kta.portal.admin.feature.api.auth;
 import com.kta.portal.admin.dto.ErrorDetail;
 import com.kta.portal.admin.dto.ResponseDto;
 import com.kta.portal.admin.feature.api.auth.model.RefreshToken;
+import com.kta.portal.admin.replica.ReadReplica;
 import com.kta.portal.admin.security.JwtTokenProvider;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
@@ -18,7 +18,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 
 import java.util.Collections;
-import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -51,15 +51,6 @@ class PostLoginHttpResponseDto {
 }
 
 
-@Data
-@lombok.Builder
-class PostLoginDaoResponseDto {
-    private Long id;
-    private String userid;
-    private String password;
-    private String name;
-}
-
 @Service
 @RequiredArgsConstructor
 class PostLoginService {
@@ -70,59 +61,49 @@ class PostLoginService {
     private final RefreshTokenService refreshTokenService;
 
     public ResponseDto<PostLoginHttpResponseDto> login(PostLoginHttpRequestDto request) {
-        try {
-            PostLoginDaoResponseDto user = postLoginDao.findUserByUserid(request.getUserid());
-
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-                return ResponseDto.error(Collections.singletonList(
-                        ErrorDetail.builder()
-                                .field("password")
-                                .message("Invalid credentials")
-                                .code("INVALID_CREDENTIALS")
-                                .build()
-                ));
-            }
-
-            String accessToken = jwtTokenProvider.generateToken(
-                    user.getId(), user.getUserid(), user.getName());
-            RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.getId());
-
-            PostLoginHttpResponseDto response = PostLoginHttpResponseDto.builder()
-                    .accessToken(accessToken)
-                    .refreshToken(refreshToken.getToken())
-                    .userid(user.getUserid())
-                    .name(user.getName())
-                    .build();
-
-            return ResponseDto.success(response);
-
-        } catch (Exception e) {
-            return ResponseDto.error(Collections.singletonList(
-                    ErrorDetail.builder()
-                            .field("userid")
-                            .message("Invalid credentials")
-                            .code("INVALID_CREDENTIALS")
-                            .build()
-            ));
+        Optional<UserCredentials> found = postLoginDao.findUserByUserid(request.getUserid());
+        if (found.isEmpty()) {
+            return invalidCredentials("userid");
+        }
+        UserCredentials user = found.get();
+
+        if (!passwordEncoder.matches(request.getPassword(), user.password())) {
+            return invalidCredentials("password");
         }
+
+        String accessToken = jwtTokenProvider.generateToken(
+                user.id(), user.userid(), user.name());
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.id());
+
+        PostLoginHttpResponseDto response = PostLoginHttpResponseDto.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken.getToken())
+                .userid(user.userid())
+                .name(user.name())
+                .build();
+
+        return ResponseDto.success(response);
+    }
+
+    private ResponseDto<PostLoginHttpResponseDto> invalidCredentials(String field) {
+        return ResponseDto.error(Collections.singletonList(
+                ErrorDetail.builder()
+                        .field(field)
+                        .message("Invalid credentials")
+                        .code("INVALID_CREDENTIALS")
+                        .build()
+        ));
     }
 }
 
 @Repository
+@ReadReplica
 @RequiredArgsConstructor
 class PostLoginDao {
 
-    private final JdbcTemplate jdbcTemplate;
-
-    public PostLoginDaoResponseDto findUserByUserid(String userid) {
-        String sql = "SELECT id, userid, password, name FROM users WHERE userid = ?";
-        Map<String, Object> row = jdbcTemplate.queryForMap(sql, userid);
+    private final UserAuthDao userAuthDao;
 
-        return PostLoginDaoResponseDto.builder()
-                .id(((Number) row.get("id")).longValue())
-                .userid((String) row.get("userid"))
-                .password((String) row.get("password"))
-                .name((String) row.get("name"))
-                .build();
+    public Optional<UserCredentials> findUserByUserid(String userid) {
+        return userAuthDao.findCredentialsByUserid(userid);
     }
-}
\ No newline at end of file
+}
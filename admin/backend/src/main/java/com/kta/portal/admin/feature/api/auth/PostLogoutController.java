@@ -4,14 +4,13 @@ import com.kta.portal.admin.dto.ResponseDto;
 import lombok.Data;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -37,19 +36,16 @@ class PostLogoutService {
         
         if (authentication != null && authentication.isAuthenticated()) {
             String userid = authentication.getName();
+            Optional<Long> userId = postLogoutDao.findUserIdByUserid(userid);
             
-            try {
-                PostLogoutDaoResponseDto user = postLogoutDao.findUserByUserid(userid);
-                refreshTokenService.deleteByUserId(user.getId());
+            if (userId.isPresent()) {
+                refreshTokenService.deleteByUserId(userId.get());
                 
                 PostLogoutHttpResponseDto response = PostLogoutHttpResponseDto.builder()
                     .message("Logged out successfully")
                     .build();
                 
                 return ResponseDto.success(response);
-                
-            } catch (Exception e) {
-                // User not found or already logged out
             }
         }
         
@@ -65,15 +61,10 @@ class PostLogoutService {
 @RequiredArgsConstructor
 class PostLogoutDao {
     
-    private final JdbcTemplate jdbcTemplate;
+    private final UserAuthDao userAuthDao;
     
-    public PostLogoutDaoResponseDto findUserByUserid(String userid) {
-        String sql = "SELECT id FROM users WHERE userid = ?";
-        Map<String, Object> row = jdbcTemplate.queryForMap(sql, userid);
-        
-        return PostLogoutDaoResponseDto.builder()
-            .id(((Number) row.get("id")).longValue())
-            .build();
+    public Optional<Long> findUserIdByUserid(String userid) {
+        return userAuthDao.findIdByUserid(userid);
     }
 }
 
@@ -82,9 +73,3 @@ class PostLogoutDao {
 class PostLogoutHttpResponseDto {
     private String message;
 }
-
-@Data
-@Builder
-class PostLogoutDaoResponseDto {
-    private Long id;
-}
\ No newline at end of file
@@ -5,9 +5,7 @@ import com.kta.portal.admin.feature.api.auth.model.RefreshToken;
 import com.kta.portal.admin.security.JwtTokenProvider;
 import com.kta.portal.admin.dto.ErrorDetail;
 import lombok.Data;
-import lombok.Builder;
 import lombok.RequiredArgsConstructor;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.*;
@@ -15,7 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import java.util.Collections;
-import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -40,13 +38,12 @@ class PostRefreshService {
     public ResponseDto<PostRefreshHttpResponseDto> refreshToken(PostRefreshHttpRequestDto request) {
         return refreshTokenService.findByToken(request.getRefreshToken())
                 .filter(refreshTokenService::validateRefreshToken)
-                .map(token -> {
-                    PostRefreshDaoResponseDto user = postRefreshDao.findUserById(token.getUserId());
-                    
+                .flatMap(token -> postRefreshDao.findUserById(token.getUserId()))
+                .map(user -> {
                     String newAccessToken = jwtTokenProvider.generateToken(
-                        user.getId(), user.getUserid(), user.getName());
+                        user.id(), user.userid(), user.name());
                     
-                    RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user.getId());
+                    RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user.id());
                     
                     PostRefreshHttpResponseDto response = PostRefreshHttpResponseDto.builder()
                         .accessToken(newAccessToken)
@@ -69,17 +66,10 @@ class PostRefreshService {
 @RequiredArgsConstructor
 class PostRefreshDao {
     
-    private final JdbcTemplate jdbcTemplate;
+    private final UserAuthDao userAuthDao;
     
-    public PostRefreshDaoResponseDto findUserById(Long userId) {
-        String sql = "SELECT id, userid, name FROM users WHERE id = ?";
-        Map<String, Object> row = jdbcTemplate.queryForMap(sql, userId);
-        
-        return PostRefreshDaoResponseDto.builder()
-            .id(((Number) row.get("id")).longValue())
-            .userid((String) row.get("userid"))
-            .name((String) row.get("name"))
-            .build();
+    public Optional<UserIdentity> findUserById(Long userId) {
+        return userAuthDao.findIdentityById(userId);
     }
 }
 
@@ -95,11 +85,3 @@ class PostRefreshHttpResponseDto {
     private String accessToken;
     private String refreshToken;
 }
-
-@Data
-@Builder
-class PostRefreshDaoResponseDto {
-    private Long id;
-    private String userid;
-    private String name;
-}
\ No newline at end of file
@@ -1,28 +1,42 @@
 package com.kta.portal.admin.feature.api.auth;
 
 import com.kta.portal.admin.feature.api.auth.model.RefreshToken;
+import com.kta.portal.admin.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Refresh tokens are stored on the shard of their user. Lookups by token do not know
+ * the user, so they ask every shard. A service-level {@code @Transactional} only spans
+ * shard 0, so changes that must be atomic run in {@link #transactionFor(Long)}.
+ */
 @Repository
 @RequiredArgsConstructor
 public class RefreshTokenRepository {
     
-    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
     
     private final RowMapper<RefreshToken> rowMapper = new RefreshTokenRowMapper();
     
+    /**
+     * @return transactions on the shard holding the tokens of {@code userId}
+     */
+    public TransactionTemplate transactionFor(Long userId) {
+        return shardRouter.forId(userId).transactionTemplate();
+    }
+
     public RefreshToken save(RefreshToken refreshToken) {
         if (refreshToken.getId() == null) {
             return insert(refreshToken);
@@ -35,7 +49,7 @@ public class RefreshTokenRepository {
         String sql = "INSERT INTO refresh_tokens (user_id, token, expires_at, created_at) VALUES (?, ?, ?, ?)";
         
         KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(connection -> {
+        shardRouter.forId(refreshToken.getUserId()).jdbcTemplate().update(connection -> {
             PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id"});
             ps.setLong(1, refreshToken.getUserId());
             ps.setString(2, refreshToken.getToken());
@@ -57,7 +71,7 @@ public class RefreshTokenRepository {
     private RefreshToken update(RefreshToken refreshToken) {
         String sql = "UPDATE refresh_tokens SET user_id = ?, token = ?, expires_at = ?, created_at = ? WHERE id = ?";
         
-        jdbcTemplate.update(sql,
+        shardRouter.forId(refreshToken.getUserId()).jdbcTemplate().update(sql,
                 refreshToken.getUserId(),
                 refreshToken.getToken(),
                 Timestamp.valueOf(refreshToken.getExpiresAt()),
@@ -70,32 +84,33 @@ public class RefreshTokenRepository {
     public Optional<RefreshToken> findByToken(String token) {
         String sql = "SELECT * FROM refresh_tokens WHERE token = ?";
         
-        return jdbcTemplate.query(sql, rowMapper, token)
+        return shardRouter.scatter(shard -> shard.jdbcTemplate().query(sql, rowMapper, token))
                 .stream()
+                .flatMap(List::stream)
                 .findFirst();
     }
     
     public Optional<RefreshToken> findByUserId(Long userId) {
         String sql = "SELECT * FROM refresh_tokens WHERE user_id = ?";
         
-        return jdbcTemplate.query(sql, rowMapper, userId)
+        return shardRouter.forId(userId).jdbcTemplate().query(sql, rowMapper, userId)
                 .stream()
                 .findFirst();
     }
     
     public void deleteByUserId(Long userId) {
         String sql = "DELETE FROM refresh_tokens WHERE user_id = ?";
-        jdbcTemplate.update(sql, userId);
+        shardRouter.forId(userId).jdbcTemplate().update(sql, userId);
     }
     
     public void delete(RefreshToken refreshToken) {
         String sql = "DELETE FROM refresh_tokens WHERE id = ?";
-        jdbcTemplate.update(sql, refreshToken.getId());
+        shardRouter.forId(refreshToken.getUserId()).jdbcTemplate().update(sql, refreshToken.getId());
     }
     
     public void deleteExpiredTokens(LocalDateTime now) {
         String sql = "DELETE FROM refresh_tokens WHERE expires_at < ?";
-        jdbcTemplate.update(sql, Timestamp.valueOf(now));
+        shardRouter.scatter(shard -> shard.jdbcTemplate().update(sql, Timestamp.valueOf(now)));
     }
     
     private static class RefreshTokenRowMapper implements RowMapper<RefreshToken> {
@@ -20,19 +20,25 @@ public class RefreshTokenService {
     @Value("${jwt.refresh.token.validity}")
     private Long refreshTokenValidity;
     
+    /**
+     * Replaces the user's refresh token. Both statements run in one transaction on the
+     * user's shard, so a failed insert never leaves the user without a token.
+     */
     public RefreshToken createRefreshToken(Long userId) {
-        // Delete existing refresh token for this user
-        refreshTokenRepository.deleteByUserId(userId);
-        
-        // Generate new refresh token
-        RefreshToken refreshToken = RefreshToken.builder()
-                .userId(userId)
-                .token(UUID.randomUUID().toString())
-                .expiresAt(LocalDateTime.now().plusSeconds(refreshTokenValidity / 1000))
-                .createdAt(LocalDateTime.now())
-                .build();
-        
-        return refreshTokenRepository.save(refreshToken);
+        return refreshTokenRepository.transactionFor(userId).execute(status -> {
+            // Delete existing refresh token for this user
+            refreshTokenRepository.deleteByUserId(userId);
+
+            // Generate new refresh token
+            RefreshToken refreshToken = RefreshToken.builder()
+                    .userId(userId)
+                    .token(UUID.randomUUID().toString())
+                    .expiresAt(LocalDateTime.now().plusSeconds(refreshTokenValidity / 1000))
+                    .createdAt(LocalDateTime.now())
+                    .build();
+
+            return refreshTokenRepository.save(refreshToken);
+        });
     }
     
     public Optional<RefreshToken> findByToken(String token) {
@@ -0,0 +1,63 @@
+package com.kta.portal.admin.feature.api.auth;
+
+import com.kta.portal.admin.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * User lookups shared by login, refresh and logout.
+ *
+ * The SQL strings are constants, so the driver's per-connection statement cache sees
+ * the same text on every call and reuses the server-side prepared statement. Rows are
+ * mapped by column index straight into records, and a missing user is an empty
+ * {@link Optional} rather than an {@code EmptyResultDataAccessException}.
+ */
+@Repository
+@RequiredArgsConstructor
+class UserAuthDao {
+
+    static final String FIND_CREDENTIALS_BY_USERID_SQL =
+            "SELECT id, userid, password, name FROM users WHERE userid = ?";
+    static final String FIND_IDENTITY_BY_ID_SQL =
+            "SELECT id, userid, name FROM users WHERE id = ?";
+    static final String FIND_ID_BY_USERID_SQL =
+            "SELECT id FROM users WHERE userid = ?";
+
+    static final RowMapper<UserCredentials> CREDENTIALS_MAPPER = (rs, rowNum) -> new UserCredentials(
+            rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+    static final RowMapper<UserIdentity> IDENTITY_MAPPER = (rs, rowNum) -> new UserIdentity(
+            rs.getLong(1), rs.getString(2), rs.getString(3));
+    static final RowMapper<Long> ID_MAPPER = (rs, rowNum) -> rs.getLong(1);
+
+    private final ShardRouter shardRouter;
+
+    public Optional<UserCredentials> findCredentialsByUserid(String userid) {
+        return shardRouter.forUserid(userid).jdbcTemplate()
+                .query(FIND_CREDENTIALS_BY_USERID_SQL, CREDENTIALS_MAPPER, userid)
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<UserIdentity> findIdentityById(long id) {
+        return shardRouter.forId(id).jdbcTemplate()
+                .query(FIND_IDENTITY_BY_ID_SQL, IDENTITY_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<Long> findIdByUserid(String userid) {
+        return shardRouter.forUserid(userid).jdbcTemplate()
+                .query(FIND_ID_BY_USERID_SQL, ID_MAPPER, userid)
+                .stream()
+                .findFirst();
+    }
+}
+
+record UserCredentials(long id, String userid, String password, String name) {
+}
+
+record UserIdentity(long id, String userid, String name) {
+}
@@ -1,11 +1,12 @@
 package com.kta.portal.admin.feature.api.user;
 
 import com.kta.portal.admin.dto.ResponseDto;
-import com.kta.portal.admin.exception.ResourceNotFoundException;
-import com.kta.portal.admin.feature.repository.UserRepository;
-import com.kta.portal.admin.feature.repository.model.User;
+import com.kta.portal.admin.exception.ErrorResponses;
+import com.kta.portal.admin.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,7 +23,9 @@ public class DeleteUserController {
     
     @DeleteMapping("/api/users/{id}")
     public ResponseEntity<ResponseDto<Void>> deleteUser(@PathVariable Long id) {
-        deleteUserService.deleteUser(id);
+        if (!deleteUserService.deleteUser(id)) {
+            return ErrorResponses.notFound("User not found");
+        }
         return ResponseEntity.ok(ResponseDto.success(null));
     }
 }
@@ -32,14 +35,37 @@ public class DeleteUserController {
 @Transactional(readOnly = true)
 class DeleteUserService {
     
-    private final UserRepository userRepository;
+    private final DeleteUserDao deleteUserDao;
+    private final ApplicationEventPublisher eventPublisher;
     
+    /**
+     * @return false if there was no such user
+     */
     @Transactional
-    public void deleteUser(Long id) {
-        Optional<User> userOpt = userRepository.findById(id);
-        if (userOpt.isEmpty()) {
-            throw new ResourceNotFoundException("User not found");
-        }
-        userRepository.delete(userOpt.get());
+    public boolean deleteUser(Long id) {
+        Optional<Long> deletedId = deleteUserDao.deleteById(id);
+        deletedId.ifPresent(deleted -> eventPublisher.publishEvent(UserChangedEvent.deleted(deleted)));
+        return deletedId.isPresent();
     }
-}
\ No newline at end of file
+}
+
+@Repository
+@RequiredArgsConstructor
+class DeleteUserDao {
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * @return the deleted id, or empty if there was no such user
+     */
+    public Optional<Long> deleteById(Long id) {
+        String sql = """
+                DELETE FROM users
+                WHERE id = ?
+                RETURNING id
+                """;
+        return shardRouter.forId(id).jdbcTemplate().query(sql, (rs, rowNum) -> rs.getLong("id"), id)
+                .stream()
+                .findFirst();
+    }
+}
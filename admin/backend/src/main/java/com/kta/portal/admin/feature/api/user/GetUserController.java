@@ -1,19 +1,26 @@
 package com.kta.portal.admin.feature.api.user;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.kta.portal.admin.dto.ResponseDto;
-import com.kta.portal.admin.exception.ResourceNotFoundException;
-import com.kta.portal.admin.feature.repository.UserRepository;
-import com.kta.portal.admin.feature.repository.model.User;
+import com.kta.portal.admin.exception.ErrorResponses;
+import com.kta.portal.admin.feature.repository.model.UserRow;
+import com.kta.portal.admin.replica.ReadReplica;
+import com.kta.portal.admin.shard.ShardRouter;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,10 +28,30 @@ public class GetUserController {
     
     private final GetUserService getUserService;
     
+    /**
+     * A matching {@code If-None-Match} is answered with 304 from the cached row or a
+     * single-column lookup, without loading or serializing the user.
+     */
     @GetMapping("/api/users/{id}")
-    public ResponseEntity<ResponseDto<GetUserHttpResponseDto>> getUserById(@PathVariable Long id) {
-        GetUserHttpResponseDto user = getUserService.getUserById(id);
-        return ResponseEntity.ok(ResponseDto.success(user));
+    public ResponseEntity<ResponseDto<GetUserHttpResponseDto>> getUserById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<UserField> selected = UserField.parse(fields);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<LocalDateTime> updatedAt = getUserService.findUpdatedAt(id);
+            if (updatedAt.isPresent() && request.checkNotModified(UserETag.of(id, updatedAt.get(), selected))) {
+                return null;
+            }
+        }
+        Optional<UserRow> found = getUserService.findUserRow(id);
+        if (found.isEmpty()) {
+            return ErrorResponses.notFound("User not found");
+        }
+        UserRow row = found.get();
+        return ResponseEntity.ok()
+                .eTag(UserETag.of(id, row.updatedAt(), selected))
+                .body(ResponseDto.success(getUserService.convertToHttpResponseDto(row, selected)));
     }
 }
 
@@ -32,32 +59,72 @@ public class GetUserController {
 @RequiredArgsConstructor
 class GetUserService {
     
-    private final UserRepository userRepository;
+    private final GetUserDao getUserDao;
+    private final UserCache userCache;
+    
+    public Optional<UserRow> findUserRow(Long id) {
+        return userCache.get(id, () -> getUserDao.findRowById(id, UserField.ALL));
+    }
     
-    public GetUserHttpResponseDto getUserById(Long id) {
-        Optional<User> userOpt = userRepository.findById(id);
-        if (userOpt.isEmpty()) {
-            throw new ResourceNotFoundException("User not found");
+    /**
+     * Version of the user for conditional requests; empty if the user does not exist.
+     */
+    public Optional<LocalDateTime> findUpdatedAt(Long id) {
+        Optional<UserRow> cached = userCache.getIfPresent(id);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().updatedAt());
         }
-        return convertToHttpResponseDto(userOpt.get());
+        return getUserDao.findUpdatedAtById(id);
     }
     
-    private GetUserHttpResponseDto convertToHttpResponseDto(User user) {
+    public GetUserHttpResponseDto convertToHttpResponseDto(UserRow fullRow, Set<UserField> fields) {
+        UserRow row = UserField.project(fullRow, fields);
         GetUserHttpResponseDto dto = new GetUserHttpResponseDto();
-        dto.setId(user.getId());
-        dto.setUserid(user.getUserid());
-        dto.setName(user.getName());
-        dto.setCreatedAt(user.getCreatedAt());
-        dto.setUpdatedAt(user.getUpdatedAt());
+        dto.setId(row.id());
+        dto.setUserid(row.userid());
+        dto.setName(row.name());
+        dto.setCreatedAt(row.createdAt());
+        dto.setUpdatedAt(row.updatedAt());
         return dto;
     }
 }
 
+@Repository
+@ReadReplica
+@RequiredArgsConstructor
+class GetUserDao {
+
+    private final ShardRouter shardRouter;
+
+    public Optional<UserRow> findRowById(Long id, Set<UserField> fields) {
+        String sql = """
+                SELECT %s
+                FROM users
+                WHERE id = ?
+                """.formatted(UserField.columns(fields));
+        return shardRouter.forId(id).jdbcTemplate().query(sql, UserField.rowMapper(fields), id)
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<LocalDateTime> findUpdatedAtById(Long id) {
+        String sql = """
+                SELECT updated_at
+                FROM users
+                WHERE id = ?
+                """;
+        return shardRouter.forId(id).jdbcTemplate().query(sql, (rs, rowNum) -> rs.getTimestamp("updated_at").toLocalDateTime(), id)
+                .stream()
+                .findFirst();
+    }
+}
+
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 class GetUserHttpResponseDto {
     private Long id;
     private String userid;
     private String name;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+}
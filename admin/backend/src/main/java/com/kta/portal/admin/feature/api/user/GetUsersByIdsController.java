@@ -0,0 +1,157 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kta.portal.admin.dto.ResponseDto;
+import com.kta.portal.admin.exception.BadRequestException;
+import com.kta.portal.admin.feature.repository.model.UserRow;
+import com.kta.portal.admin.shard.Shard;
+import com.kta.portal.admin.shard.ShardRouter;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.Array;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequiredArgsConstructor
+public class GetUsersByIdsController {
+
+    private final GetUsersByIdsService getUsersByIdsService;
+
+    @GetMapping(value = "/api/users", params = "ids")
+    public ResponseEntity<ResponseDto<List<GetUsersByIdsHttpResponseDto>>> getUsersByIds(
+            @RequestParam String ids,
+            @RequestParam(required = false) String fields) {
+        List<GetUsersByIdsHttpResponseDto> users = getUsersByIdsService.getUsersByIds(
+                GetUsersByIdsService.parseIds(ids), UserField.parse(fields));
+        return ResponseEntity.ok(ResponseDto.success(users));
+    }
+}
+
+@Service
+@RequiredArgsConstructor
+class GetUsersByIdsService {
+
+    static final int MAX_IDS = 100;
+
+    private final GetUsersByIdsDao getUsersByIdsDao;
+    private final UserCache userCache;
+
+    static List<Long> parseIds(String ids) {
+        List<Long> parsed = new ArrayList<>();
+        for (String value : ids.split(",")) {
+            String trimmed = value.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                parsed.add(Long.parseLong(trimmed));
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid id: " + trimmed);
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new BadRequestException("At least one id is required");
+        }
+        if (parsed.size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " ids are allowed");
+        }
+        return parsed;
+    }
+
+    public List<GetUsersByIdsHttpResponseDto> getUsersByIds(List<Long> ids, Set<UserField> fields) {
+        Set<UserField> selected = EnumSet.copyOf(fields);
+        selected.add(UserField.ID);
+
+        Map<Long, UserRow> rows = userCache.getAll(new LinkedHashSet<>(ids),
+                missing -> getUsersByIdsDao.findRowsByIds(missing, UserField.ALL));
+
+        List<GetUsersByIdsHttpResponseDto> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            UserRow row = rows.get(id);
+            result.add(convertToHttpResponseDto(id, row != null ? UserField.project(row, selected) : null));
+        }
+        return result;
+    }
+
+    private GetUsersByIdsHttpResponseDto convertToHttpResponseDto(Long id, UserRow row) {
+        GetUsersByIdsHttpResponseDto dto = new GetUsersByIdsHttpResponseDto();
+        dto.setId(id);
+        dto.setFound(row != null);
+        if (row != null) {
+            GetUsersByIdsUserDto user = new GetUsersByIdsUserDto();
+            user.setId(row.id());
+            user.setUserid(row.userid());
+            user.setName(row.name());
+            user.setCreatedAt(row.createdAt());
+            user.setUpdatedAt(row.updatedAt());
+            dto.setUser(user);
+        }
+        return dto;
+    }
+}
+
+@Repository
+@RequiredArgsConstructor
+class GetUsersByIdsDao {
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * One query per shard that holds any of the ids.
+     */
+    public List<UserRow> findRowsByIds(Collection<Long> ids, Set<UserField> fields) {
+        Map<Shard, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(shardRouter.forId(id), shard -> new ArrayList<>()).add(id);
+        }
+        List<UserRow> rows = new ArrayList<>();
+        idsByShard.forEach((shard, shardIds) -> rows.addAll(findRowsByIds(shard, shardIds, fields)));
+        return rows;
+    }
+
+    private List<UserRow> findRowsByIds(Shard shard, List<Long> ids, Set<UserField> fields) {
+        String sql = """
+                SELECT %s
+                FROM users
+                WHERE id = ANY(?)
+                """.formatted(UserField.columns(fields));
+        return shard.jdbcTemplate().query(sql,
+                ps -> {
+                    Array array = ps.getConnection().createArrayOf("bigint", ids.toArray());
+                    ps.setArray(1, array);
+                },
+                UserField.rowMapper(fields));
+    }
+}
+
+@Data
+class GetUsersByIdsHttpResponseDto {
+    private Long id;
+    private boolean found;
+    private GetUsersByIdsUserDto user;
+}
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class GetUsersByIdsUserDto {
+    private Long id;
+    private String userid;
+    private String name;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
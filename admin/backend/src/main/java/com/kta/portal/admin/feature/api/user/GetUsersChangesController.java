@@ -0,0 +1,213 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kta.portal.admin.dto.ResponseDto;
+import com.kta.portal.admin.exception.BadRequestException;
+import com.kta.portal.admin.exception.ErrorResponses;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+public class GetUsersChangesController {
+
+    private final GetUsersChangesService getUsersChangesService;
+
+    @GetMapping("/api/users/changes")
+    public ResponseEntity<ResponseDto<GetUsersChangesHttpResponseDto>> getUserChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        Optional<GetUsersChangesHttpResponseDto> changes = getUsersChangesService.getChanges(UserChangeToken.parse(since), limit);
+        if (changes.isEmpty()) {
+            return ErrorResponses.gone("Change token is older than the tombstone retention; resync from the start");
+        }
+        return ResponseEntity.ok(ResponseDto.success(changes.get()));
+    }
+}
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+class GetUsersChangesService {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final GetUsersChangesDao getUsersChangesDao;
+
+    /**
+     * Returns the changes after {@code since} in commit-safe order.
+     *
+     * Only changes of transactions older than the oldest one still running are
+     * returned. Every later commit gets a larger transaction id, so nothing can ever
+     * appear behind a token that was handed out.
+     *
+     * @return empty if tombstones newer than {@code since} have been pruned, so the
+     *         client may have missed a deletion and has to start over
+     */
+    public Optional<GetUsersChangesHttpResponseDto> getChanges(UserChangeToken since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        long bound = getUsersChangesDao.findVisibleXidBound();
+        List<UserChange> changes = getUsersChangesDao.findChanges(since, bound, limit);
+        // Read after the changes: a prune that removed rows they should have contained has committed by now
+        if (!since.equals(UserChangeToken.START) && since.xid() <= getUsersChangesDao.findPrunedXid()) {
+            return Optional.empty();
+        }
+
+        GetUsersChangesHttpResponseDto dto = new GetUsersChangesHttpResponseDto();
+        dto.setChanges(changes.stream().map(this::convertToHttpResponseDto).toList());
+        dto.setHasMore(changes.size() == limit);
+        if (dto.isHasMore()) {
+            UserChange last = changes.get(changes.size() - 1);
+            dto.setNext(new UserChangeToken(last.changeXid(), last.id()).toString());
+        } else {
+            dto.setNext(new UserChangeToken(Math.max(bound, since.xid()), 0).toString());
+        }
+        return Optional.of(dto);
+    }
+
+    private GetUsersChangeHttpResponseDto convertToHttpResponseDto(UserChange change) {
+        GetUsersChangeHttpResponseDto dto = new GetUsersChangeHttpResponseDto();
+        dto.setId(change.id());
+        dto.setUserid(change.userid());
+        dto.setDeleted(change.deleted());
+        dto.setName(change.name());
+        dto.setCreatedAt(change.createdAt());
+        dto.setUpdatedAt(change.updatedAt());
+        return dto;
+    }
+}
+
+@Repository
+@RequiredArgsConstructor
+class GetUsersChangesDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Oldest transaction id still running; every transaction below it has finished
+     * and its changes are visible to any later statement.
+     */
+    public long findVisibleXidBound() {
+        String sql = """
+                SELECT pg_snapshot_xmin(pg_current_snapshot())::text
+                """;
+        return Long.parseLong(jdbcTemplate.queryForObject(sql, String.class));
+    }
+
+    /**
+     * Newest transaction id whose tombstones {@link UserTombstonePruner} has deleted.
+     */
+    public long findPrunedXid() {
+        String sql = """
+                SELECT change_xid::text
+                FROM user_tombstones_pruned
+                """;
+        return Long.parseLong(jdbcTemplate.queryForObject(sql, String.class));
+    }
+
+    public List<UserChange> findChanges(UserChangeToken since, long bound, int limit) {
+        String sql = """
+                SELECT *
+                FROM (
+                    (SELECT u.id, u.userid, FALSE AS deleted, u.name, u.created_at, u.updated_at, u.change_xid
+                     FROM users u
+                     WHERE (u.change_xid, u.id) > (?::xid8, ?) AND u.change_xid < ?::xid8
+                     ORDER BY u.change_xid, u.id
+                     LIMIT ?)
+                    UNION ALL
+                    (SELECT t.id, t.userid, TRUE AS deleted, NULL, NULL, t.deleted_at, t.change_xid
+                     FROM user_tombstones t
+                     WHERE (t.change_xid, t.id) > (?::xid8, ?) AND t.change_xid < ?::xid8
+                     ORDER BY t.change_xid, t.id
+                     LIMIT ?)
+                ) c
+                ORDER BY c.change_xid, c.id
+                LIMIT ?
+                """;
+        String sinceXid = Long.toString(since.xid());
+        String boundXid = Long.toString(bound);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new UserChange(
+                        rs.getLong("id"),
+                        rs.getString("userid"),
+                        rs.getBoolean("deleted"),
+                        rs.getString("name"),
+                        toLocalDateTime(rs.getTimestamp("created_at")),
+                        toLocalDateTime(rs.getTimestamp("updated_at")),
+                        Long.parseLong(rs.getString("change_xid"))),
+                sinceXid, since.id(), boundXid, limit,
+                sinceXid, since.id(), boundXid, limit,
+                limit);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
+
+/**
+ * Position in the change feed: {@code "<transaction id>.<user id>"}, the last change
+ * a client has seen. The empty token starts from the beginning.
+ */
+record UserChangeToken(long xid, long id) {
+
+    static final UserChangeToken START = new UserChangeToken(0, 0);
+
+    static UserChangeToken parse(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        int dot = token.indexOf('.');
+        try {
+            long xid = Long.parseLong(token.substring(0, dot < 0 ? token.length() : dot).trim());
+            long id = dot < 0 ? 0 : Long.parseLong(token.substring(dot + 1).trim());
+            if (xid < 0 || id < 0) {
+                throw new BadRequestException("Invalid change token: " + token);
+            }
+            return new UserChangeToken(xid, id);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid change token: " + token);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return xid + "." + id;
+    }
+}
+
+record UserChange(Long id, String userid, boolean deleted, String name,
+                  LocalDateTime createdAt, LocalDateTime updatedAt, long changeXid) {
+}
+
+@Data
+class GetUsersChangesHttpResponseDto {
+    private List<GetUsersChangeHttpResponseDto> changes;
+    private String next;
+    private boolean hasMore;
+}
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class GetUsersChangeHttpResponseDto {
+    private Long id;
+    private String userid;
+    private boolean deleted;
+    private String name;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
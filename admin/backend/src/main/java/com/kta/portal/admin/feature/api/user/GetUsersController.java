@@ -1,22 +1,37 @@
 package com.kta.portal.admin.feature.api.user;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kta.portal.admin.dto.ResponseDto;
-import com.kta.portal.admin.feature.repository.UserRepository;
-import com.kta.portal.admin.feature.repository.model.User;
+import com.kta.portal.admin.exception.BadRequestException;
+import com.kta.portal.admin.feature.repository.model.UserRow;
+import com.kta.portal.admin.replica.ReadReplica;
+import com.kta.portal.admin.shard.ShardRouter;
+import com.kta.portal.admin.shard.SortedMerge;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,15 +39,34 @@ import java.util.stream.Collectors;
 public class GetUsersController {
     
     private final GetUsersService getUsersService;
+    private final UserDataVersion userDataVersion;
     
+    /**
+     * Returns the page as pre-encoded JSON so cache hits skip serialization entirely.
+     * A client that already holds the current data version gets 304 without the page
+     * being looked up at all, but only for a request that would otherwise succeed. While the version is unsettled the page is sent without
+     * an ETag.
+     */
     @GetMapping("/api/users")
-    public ResponseEntity<ResponseDto<GetUsersPageResponseDto>> getAllUsers(
+    public ResponseEntity<byte[]> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
-        GetUsersPageResponseDto users = getUsersService.getAllUsers(page, size, sortBy, sortDir);
-        return ResponseEntity.ok(ResponseDto.success(users));
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<UserField> selected = UserField.parse(fields);
+        getUsersService.validate(page, size, sortBy);
+        String version = userDataVersion.current();
+        if (version != null && request.checkNotModified(userDataVersion.etag(version))) {
+            return null;
+        }
+        byte[] body = getUsersService.getAllUsersEncoded(version, page, size, sortBy, sortDir, selected);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (version != null) {
+            response.eTag(userDataVersion.etag(version));
+        }
+        return response.body(body);
     }
 }
 
@@ -40,14 +74,49 @@ public class GetUsersController {
 @RequiredArgsConstructor
 class GetUsersService {
     
-    private final UserRepository userRepository;
+    private final GetUsersDao getUsersDao;
+    private final UserPageCache userPageCache;
+    private final ObjectMapper objectMapper;
     
-    public GetUsersPageResponseDto getAllUsers(int page, int size, String sortBy, String sortDir) {
+    /**
+     * Rejects parameters the page query would reject, before a conditional request can
+     * be answered with 304.
+     */
+    public void validate(int page, int size, String sortBy) {
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        if (size < 1) {
+            throw new BadRequestException("size must be at least 1");
+        }
+        if (!GetUsersDao.SORT_COLUMNS.containsKey(sortBy)) {
+            throw new BadRequestException("Invalid sort field: " + sortBy);
+        }
+    }
+
+    /**
+     * @param version {@link UserDataVersion} read before any data is loaded, or {@code null}
+     *                to bypass the page cache
+     */
+    public byte[] getAllUsersEncoded(String version, int page, int size, String sortBy, String sortDir, Set<UserField> fields) {
+        String direction = sortDir.equalsIgnoreCase("desc") ? "desc" : "asc";
+        String query = "page=" + page + "&size=" + size + "&sort=" + sortBy + "," + direction + "&fields=" + UserField.columns(fields);
+        return userPageCache.get(new UserPageCache.Key(version, "users", query), () -> {
+            try {
+                return objectMapper.writeValueAsBytes(ResponseDto.success(getAllUsers(page, size, sortBy, direction, fields)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to encode users page", e);
+            }
+        });
+    }
+    
+    public GetUsersPageResponseDto getAllUsers(int page, int size, String sortBy, String sortDir, Set<UserField> fields) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<User> userPage = userRepository.findAll(pageable);
+        List<UserRow> rows = getUsersDao.findPage(pageable, fields);
+        Page<UserRow> userPage = new PageImpl<>(rows, pageable, getUsersDao.count());
         
         List<GetUsersHttpResponseDto> users = userPage.getContent().stream()
                 .map(this::convertToHttpResponseDto)
@@ -65,18 +134,119 @@ class GetUsersService {
         return response;
     }
     
-    private GetUsersHttpResponseDto convertToHttpResponseDto(User user) {
+    private GetUsersHttpResponseDto convertToHttpResponseDto(UserRow row) {
         GetUsersHttpResponseDto dto = new GetUsersHttpResponseDto();
-        dto.setId(user.getId());
-        dto.setUserid(user.getUserid());
-        dto.setName(user.getName());
-        dto.setCreatedAt(user.getCreatedAt());
-        dto.setUpdatedAt(user.getUpdatedAt());
+        dto.setId(row.id());
+        dto.setUserid(row.userid());
+        dto.setName(row.name());
+        dto.setCreatedAt(row.createdAt());
+        dto.setUpdatedAt(row.updatedAt());
         return dto;
     }
 }
 
+@Repository
+@ReadReplica
+@RequiredArgsConstructor
+class GetUsersDao {
+
+    static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "userid", "userid",
+            "name", "name",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    private final ShardRouter shardRouter;
+
+    public List<UserRow> findPage(Pageable pageable, Set<UserField> fields) {
+        Sort.Order order = pageable.getSort().iterator().next();
+        String column = SORT_COLUMNS.get(order.getProperty());
+        if (column == null) {
+            throw new BadRequestException("Invalid sort field: " + order.getProperty());
+        }
+        UserField sortField = UserField.fromProperty(order.getProperty());
+        String direction = order.isDescending() ? "DESC" : "ASC";
+        if (shardRouter.isSharded()) {
+            return findPageSharded(sortField, order.isDescending(), pageable, fields);
+        }
+        String sql = """
+                SELECT %s
+                FROM users
+                ORDER BY %s%s %s, id %s
+                LIMIT ? OFFSET ?
+                """.formatted(UserField.columns(fields), column, collation(sortField), direction, direction);
+        return shardRouter.all().getFirst().jdbcTemplate()
+                .query(sql, UserField.rowMapper(fields), pageable.getPageSize(), pageable.getOffset());
+    }
+
+    public long count() {
+        long count = 0;
+        for (Long shardCount : shardRouter.scatter(shard ->
+                shard.jdbcTemplate().queryForObject("SELECT count(*) FROM users", Long.class))) {
+            count += shardCount != null ? shardCount : 0L;
+        }
+        return count;
+    }
+
+    /**
+     * Scatter-gather: every shard returns its first {@code offset + size} rows in the
+     * requested order, and a k-way merge picks the page. Each shard also returns the
+     * sort column and id so rows can be merged before projecting to {@code fields}.
+     * The shards sort text with the same {@link #collation} as a single node, and the
+     * merge compares by code point, which is the order {@code COLLATE "C"} gives in UTF-8.
+     */
+    private List<UserRow> findPageSharded(UserField sortField, boolean descending, Pageable pageable, Set<UserField> fields) {
+        Set<UserField> selected = EnumSet.copyOf(fields);
+        selected.add(sortField);
+        selected.add(UserField.ID);
+        String direction = descending ? "DESC" : "ASC";
+        String sql = """
+                SELECT %s
+                FROM users
+                ORDER BY %s%s %s, id %s
+                LIMIT ?
+                """.formatted(UserField.columns(selected), sortField.column(), collation(sortField), direction, direction);
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        List<List<UserRow>> perShard = shardRouter.scatter(shard ->
+                shard.jdbcTemplate().query(sql, UserField.rowMapper(selected), limit));
+
+        Comparator<UserRow> comparator = comparator(sortField);
+        if (descending) {
+            comparator = comparator.reversed();
+        }
+        return SortedMerge.merge(perShard, comparator, pageable.getOffset(), pageable.getPageSize()).stream()
+                .map(row -> UserField.project(row, fields))
+                .toList();
+    }
+
+    /**
+     * Text columns sort by code point ({@code COLLATE "C"}) with or without shards, so a
+     * listing keeps its order independently of the database locale and of the number of
+     * nodes.
+     */
+    private static String collation(UserField sortField) {
+        return sortField == UserField.USERID || sortField == UserField.NAME ? " COLLATE \"C\"" : "";
+    }
+
+    private static Comparator<UserRow> comparator(UserField sortField) {
+        Comparator<UserRow> bySortField = switch (sortField) {
+            case ID -> Comparator.comparing(UserRow::id);
+            case USERID -> Comparator.comparing(UserRow::userid, GetUsersDao::compareCodePoints);
+            case NAME -> Comparator.comparing(UserRow::name, GetUsersDao::compareCodePoints);
+            case CREATED_AT -> Comparator.comparing(UserRow::createdAt);
+            case UPDATED_AT -> Comparator.comparing(UserRow::updatedAt);
+        };
+        return bySortField.thenComparing(UserRow::id);
+    }
+
+    private static int compareCodePoints(String a, String b) {
+        return Arrays.compare(a.codePoints().toArray(), b.codePoints().toArray());
+    }
+}
+
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 class GetUsersHttpResponseDto {
     private Long id;
     private String userid;
@@ -0,0 +1,290 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kta.portal.admin.exception.BadRequestException;
+import com.kta.portal.admin.exception.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+@RequiredArgsConstructor
+public class GetUsersExportController {
+
+    private final GetUsersExportService getUsersExportService;
+
+    @GetMapping("/api/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                                                             HttpServletRequest request) {
+        GetUsersExportFormat exportFormat = GetUsersExportFormat.from(format);
+        StreamingResponseBody body = getUsersExportService.export(exportFormat, WebAsyncUtils.getAsyncManager(request));
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + exportFormat.extension() + "\"")
+                .body(body);
+    }
+}
+
+@Service
+class GetUsersExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final GetUsersExportDao getUsersExportDao;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+
+    GetUsersExportService(GetUsersExportDao getUsersExportDao,
+                          ObjectMapper objectMapper,
+                          @Value("${user.export.max-concurrent:2}") int maxConcurrent) {
+        this.getUsersExportDao = getUsersExportDao;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Reserves an export slot up front so an over-limit request fails with 503
+     * before the response is committed. The slot is released once, either when the
+     * body finishes or when the async request completes; the latter also covers a body
+     * that never runs because the client left, the request timed out or it failed
+     * before the first write.
+     */
+    public StreamingResponseBody export(GetUsersExportFormat format, WebAsyncManager asyncManager) {
+        if (!permits.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many concurrent exports");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        asyncManager.registerCallableInterceptor(GetUsersExportService.class, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                release.run();
+            }
+        });
+        return outputStream -> {
+            try {
+                OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+                GetUsersExportWriter writer = format == GetUsersExportFormat.CSV
+                        ? new CsvUsersExportWriter(out)
+                        : new NdjsonUsersExportWriter(objectMapper.getFactory().createGenerator(out)
+                                .setRootValueSeparator(null));
+                writer.writeHeader();
+                getUsersExportDao.streamRows(new RowCallbackHandler() {
+                    private int rows;
+
+                    @Override
+                    public void processRow(ResultSet rs) throws SQLException {
+                        try {
+                            writer.writeRow(rs);
+                            if (++rows % FLUSH_EVERY_ROWS == 0) {
+                                writer.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+                writer.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                release.run();
+            }
+        };
+    }
+}
+
+@Repository
+class GetUsersExportDao {
+
+    static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    GetUsersExportDao(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Runs inside a read-only transaction so the PostgreSQL driver uses a server-side
+     * cursor and fetches {@link #FETCH_SIZE} rows at a time instead of the whole table.
+     */
+    public void streamRows(RowCallbackHandler handler) {
+        String sql = """
+                SELECT id, userid, name, created_at, updated_at
+                FROM users
+                ORDER BY id
+                """;
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, handler));
+    }
+}
+
+enum GetUsersExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    GetUsersExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    static GetUsersExportFormat from(String format) {
+        for (GetUsersExportFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new BadRequestException("Invalid export format: " + format);
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    String extension() {
+        return extension;
+    }
+}
+
+interface GetUsersExportWriter {
+
+    DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    void writeHeader() throws IOException;
+
+    void writeRow(ResultSet rs) throws IOException, SQLException;
+
+    void flush() throws IOException;
+}
+
+/**
+ * Writes one object per line. The generator must have no root value separator, or every
+ * line after the first starts with a space.
+ */
+class NdjsonUsersExportWriter implements GetUsersExportWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonUsersExportWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void writeHeader() {
+    }
+
+    @Override
+    public void writeRow(ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeStringField("userid", rs.getString("userid"));
+        generator.writeStringField("name", rs.getString("name"));
+        generator.writeStringField("createdAt", TIMESTAMP_FORMAT.format(rs.getTimestamp("created_at").toLocalDateTime()));
+        generator.writeStringField("updatedAt", TIMESTAMP_FORMAT.format(rs.getTimestamp("updated_at").toLocalDateTime()));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
+
+/**
+ * RFC 4180 CSV. Text fields are user input, so a value that a spreadsheet would run as a
+ * formula (leading {@code =}, {@code +}, {@code -}, {@code @}, tab or CR) is written
+ * quoted with a leading {@code '}.
+ */
+class CsvUsersExportWriter implements GetUsersExportWriter {
+
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final Writer writer;
+
+    CsvUsersExportWriter(OutputStream out) {
+        this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write("id,userid,name,createdAt,updatedAt\n");
+    }
+
+    @Override
+    public void writeRow(ResultSet rs) throws IOException, SQLException {
+        writer.write(Long.toString(rs.getLong("id")));
+        writer.write(',');
+        writeField(rs.getString("userid"));
+        writer.write(',');
+        writeField(rs.getString("name"));
+        writer.write(',');
+        writer.write(TIMESTAMP_FORMAT.format(rs.getTimestamp("created_at").toLocalDateTime()));
+        writer.write(',');
+        writer.write(TIMESTAMP_FORMAT.format(rs.getTimestamp("updated_at").toLocalDateTime()));
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean formula = !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+        if (!formula && value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
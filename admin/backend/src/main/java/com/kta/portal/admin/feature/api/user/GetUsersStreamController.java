@@ -0,0 +1,33 @@
+package com.kta.portal.admin.feature.api.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+public class GetUsersStreamController {
+
+    private final GetUsersStreamService getUsersStreamService;
+
+    @GetMapping(value = "/api/users/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUsers(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return getUsersStreamService.subscribe(lastEventId);
+    }
+}
+
+@Service
+@RequiredArgsConstructor
+class GetUsersStreamService {
+
+    private final UserEventBroadcaster userEventBroadcaster;
+
+    public SseEmitter subscribe(String lastEventId) {
+        return userEventBroadcaster.subscribe(lastEventId != null);
+    }
+}
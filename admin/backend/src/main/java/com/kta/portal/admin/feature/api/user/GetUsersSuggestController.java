@@ -0,0 +1,57 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.dto.ResponseDto;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class GetUsersSuggestController {
+
+    private final GetUsersSuggestService getUsersSuggestService;
+
+    @GetMapping("/api/users/suggest")
+    public ResponseEntity<ResponseDto<List<GetUsersSuggestHttpResponseDto>>> suggestUsers(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<GetUsersSuggestHttpResponseDto> users = getUsersSuggestService.suggest(q, limit);
+        return ResponseEntity.ok(ResponseDto.success(users));
+    }
+}
+
+@Service
+@RequiredArgsConstructor
+class GetUsersSuggestService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final UserDirectory userDirectory;
+
+    public List<GetUsersSuggestHttpResponseDto> suggest(String q, int limit) {
+        return userDirectory.suggest(q, Math.min(Math.max(limit, 0), MAX_LIMIT)).stream()
+                .map(this::convertToHttpResponseDto)
+                .toList();
+    }
+
+    private GetUsersSuggestHttpResponseDto convertToHttpResponseDto(UserDirectory.Entry entry) {
+        GetUsersSuggestHttpResponseDto dto = new GetUsersSuggestHttpResponseDto();
+        dto.setId(entry.id());
+        dto.setUserid(entry.userid());
+        dto.setName(entry.name());
+        return dto;
+    }
+}
+
+@Data
+class GetUsersSuggestHttpResponseDto {
+    private Long id;
+    private String userid;
+    private String name;
+}
@@ -1,23 +1,28 @@
 package com.kta.portal.admin.feature.api.user;
 
 import com.kta.portal.admin.dto.ResponseDto;
-import com.kta.portal.admin.exception.BadRequestException;
-import com.kta.portal.admin.feature.repository.UserRepository;
-import com.kta.portal.admin.feature.repository.model.User;
+import com.kta.portal.admin.exception.ErrorResponses;
+import com.kta.portal.admin.feature.repository.model.UserRow;
+import com.kta.portal.admin.shard.Shard;
+import com.kta.portal.admin.shard.ShardRouter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,8 +32,11 @@ public class PostUserController {
     
     @PostMapping("/api/users")
     public ResponseEntity<ResponseDto<PostUserHttpResponseDto>> createUser(@Valid @RequestBody PostUserHttpRequestDto requestDto) {
-        PostUserHttpResponseDto user = postUserService.createUser(requestDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(ResponseDto.success(user));
+        Optional<PostUserHttpResponseDto> user = postUserService.createUser(requestDto);
+        if (user.isEmpty()) {
+            return ErrorResponses.conflict("User with this userid already exists");
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(ResponseDto.success(user.get()));
     }
 }
 
@@ -37,37 +45,62 @@ public class PostUserController {
 @Transactional(readOnly = true)
 class PostUserService {
     
-    private final UserRepository userRepository;
+    private final PostUserDao postUserDao;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
+    /**
+     * @return the created user, or empty if the userid is already taken
+     */
     @Transactional
-    public PostUserHttpResponseDto createUser(PostUserHttpRequestDto requestDto) {
-        if (userRepository.existsByUserid(requestDto.getUserid())) {
-            throw new BadRequestException("User with this userid already exists");
-        }
-        
-        User user = new User();
-        user.setUserid(requestDto.getUserid());
-        user.setPassword(passwordEncoder.encode(requestDto.getPassword()));
-        user.setName(requestDto.getName());
-        user.setCreatedAt(LocalDateTime.now());
-        user.setUpdatedAt(LocalDateTime.now());
+    public Optional<PostUserHttpResponseDto> createUser(PostUserHttpRequestDto requestDto) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<UserRow> row = postUserDao.insertIfAbsent(requestDto.getUserid(), passwordEncoder.encode(requestDto.getPassword()),
+                        requestDto.getName(), now);
         
-        User savedUser = userRepository.save(user);
-        return convertToHttpResponseDto(savedUser);
+        row.ifPresent(created -> eventPublisher.publishEvent(UserChangedEvent.created(created.id())));
+        return row.map(this::convertToHttpResponseDto);
     }
     
-    private PostUserHttpResponseDto convertToHttpResponseDto(User user) {
+    private PostUserHttpResponseDto convertToHttpResponseDto(UserRow row) {
         PostUserHttpResponseDto dto = new PostUserHttpResponseDto();
-        dto.setId(user.getId());
-        dto.setUserid(user.getUserid());
-        dto.setName(user.getName());
-        dto.setCreatedAt(user.getCreatedAt());
-        dto.setUpdatedAt(user.getUpdatedAt());
+        dto.setId(row.id());
+        dto.setUserid(row.userid());
+        dto.setName(row.name());
+        dto.setCreatedAt(row.createdAt());
+        dto.setUpdatedAt(row.updatedAt());
         return dto;
     }
 }
 
+@Repository
+@RequiredArgsConstructor
+class PostUserDao {
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * Inserts the user unless the userid is taken. The unique index decides, so two
+     * concurrent requests for the same userid cannot both succeed. A userid always
+     * maps to the same shard, so this holds with sharded storage too.
+     *
+     * @return the inserted row, or empty if the userid already exists
+     */
+    public Optional<UserRow> insertIfAbsent(String userid, String password, String name, LocalDateTime now) {
+        Shard shard = shardRouter.forUserid(userid);
+        String sql = """
+                INSERT INTO users (id, userid, password, name, created_at, updated_at)
+                VALUES (%s, ?, ?, ?, ?, ?)
+                ON CONFLICT (userid) DO NOTHING
+                RETURNING id, userid, name, created_at, updated_at
+                """.formatted(shard.nextUserIdSql());
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return shard.jdbcTemplate().query(sql, UserField.rowMapper(UserField.ALL), userid, password, name, timestamp, timestamp)
+                .stream()
+                .findFirst();
+    }
+}
+
 @Data
 class PostUserHttpRequestDto {
     @NotBlank(message = "사용자 ID는 필수입니다")
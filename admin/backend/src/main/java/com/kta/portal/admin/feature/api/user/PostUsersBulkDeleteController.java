@@ -0,0 +1,226 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kta.portal.admin.dto.ResponseDto;
+import com.kta.portal.admin.exception.BadRequestException;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@RestController
+@RequiredArgsConstructor
+public class PostUsersBulkDeleteController {
+
+    private final PostUsersBulkDeleteService postUsersBulkDeleteService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/api/users/bulk-delete")
+    public ResponseEntity<ResponseDto<PostUsersBulkDeleteHttpResponseDto>> bulkDeleteUsers(
+            @RequestBody PostUsersBulkDeleteHttpRequestDto requestDto) {
+        PostUsersBulkDeleteHttpResponseDto result = postUsersBulkDeleteService.bulkDelete(requestDto, UserBulkProgress.IGNORE);
+        return ResponseEntity.ok(ResponseDto.success(result));
+    }
+
+    /**
+     * Same operation for callers that accept NDJSON: a progress line per committed chunk,
+     * then the response body. The request is validated before the stream starts, so
+     * invalid requests still get a plain 400.
+     */
+    @PostMapping(value = "/api/users/bulk-delete", produces = UserBulkProgress.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> bulkDeleteUsersWithProgress(
+            @RequestBody PostUsersBulkDeleteHttpRequestDto requestDto) {
+        postUsersBulkDeleteService.validate(requestDto);
+        return ResponseEntity.ok()
+                .contentType(UserBulkProgress.APPLICATION_NDJSON)
+                .body(UserBulkProgress.stream(objectMapper,
+                        progress -> postUsersBulkDeleteService.bulkDelete(requestDto, progress)));
+    }
+}
+
+@Slf4j
+@Service
+class PostUsersBulkDeleteService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_IDS = 100_000;
+
+    private final PostUsersBulkDeleteDao postUsersBulkDeleteDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int minPrefixLength;
+
+    PostUsersBulkDeleteService(PostUsersBulkDeleteDao postUsersBulkDeleteDao,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${user.bulk-delete.min-prefix-length:3}") int minPrefixLength) {
+        this.postUsersBulkDeleteDao = postUsersBulkDeleteDao;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minPrefixLength = minPrefixLength;
+    }
+
+    /**
+     * A prefix shorter than {@code user.bulk-delete.min-prefix-length} can match nearly
+     * every user, so it is only accepted together with {@code "confirm": true}.
+     */
+    public void validate(PostUsersBulkDeleteHttpRequestDto requestDto) {
+        boolean byIds = requestDto.getIds() != null && !requestDto.getIds().isEmpty();
+        boolean byPrefix = requestDto.getUseridPrefix() != null && !requestDto.getUseridPrefix().isBlank();
+        if (byIds == byPrefix) {
+            throw new BadRequestException("Either ids or useridPrefix is required");
+        }
+        if (byIds && requestDto.getIds().size() > MAX_IDS) {
+            throw new BadRequestException("At most " + MAX_IDS + " ids are allowed");
+        }
+        if (byPrefix && requestDto.getUseridPrefix().length() < minPrefixLength
+                && !Boolean.TRUE.equals(requestDto.getConfirm())) {
+            throw new BadRequestException("useridPrefix shorter than " + minPrefixLength
+                    + " characters requires \"confirm\": true");
+        }
+    }
+
+    public PostUsersBulkDeleteHttpResponseDto bulkDelete(PostUsersBulkDeleteHttpRequestDto requestDto,
+                                                         Consumer<UserBulkProgress> progress) {
+        validate(requestDto);
+        return requestDto.getIds() != null && !requestDto.getIds().isEmpty()
+                ? deleteByIds(requestDto.getIds(), progress)
+                : deleteByUseridPrefix(requestDto.getUseridPrefix(), progress);
+    }
+
+    /**
+     * Deletes the given ids in chunks of {@link #CHUNK_SIZE}, one transaction per chunk.
+     */
+    private PostUsersBulkDeleteHttpResponseDto deleteByIds(List<Long> ids, Consumer<UserBulkProgress> progress) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        int chunks = (distinct.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<Long> missing = new ArrayList<>();
+        int deleted = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            List<Long> chunkIds = distinct.subList(chunk * CHUNK_SIZE, Math.min(distinct.size(), (chunk + 1) * CHUNK_SIZE));
+            Set<Long> deletedIds = new HashSet<>(deleteChunk(chunkIds));
+            deleted += deletedIds.size();
+            for (Long id : chunkIds) {
+                if (!deletedIds.contains(id)) {
+                    missing.add(id);
+                }
+            }
+            log.info("Bulk delete progress: chunk {}/{}, {} of {} users deleted", chunk + 1, chunks, deleted, distinct.size());
+            progress.accept(new UserBulkProgress(chunk + 1, chunks, deleted, distinct.size()));
+        }
+        return PostUsersBulkDeleteHttpResponseDto.of(deleted, chunks, missing);
+    }
+
+    /**
+     * Repeatedly picks the next {@link #CHUNK_SIZE} matching ids and deletes them, so
+     * each transaction stays small no matter how many users match.
+     */
+    private PostUsersBulkDeleteHttpResponseDto deleteByUseridPrefix(String useridPrefix, Consumer<UserBulkProgress> progress) {
+        int chunks = 0;
+        int deleted = 0;
+        List<Long> chunkIds;
+        while (!(chunkIds = postUsersBulkDeleteDao.findIdsByUseridPrefix(useridPrefix, CHUNK_SIZE)).isEmpty()) {
+            chunks++;
+            deleted += deleteChunk(chunkIds).size();
+            log.info("Bulk delete progress: chunk {}, {} users with userid prefix '{}' deleted", chunks, deleted, useridPrefix);
+            progress.accept(new UserBulkProgress(chunks, null, deleted, null));
+        }
+        return PostUsersBulkDeleteHttpResponseDto.of(deleted, chunks, List.of());
+    }
+
+    private List<Long> deleteChunk(List<Long> ids) {
+        return transactionTemplate.execute(status -> {
+            postUsersBulkDeleteDao.deleteRefreshTokensByUserIds(ids);
+            List<Long> deletedIds = postUsersBulkDeleteDao.deleteByIds(ids);
+            if (!deletedIds.isEmpty()) {
+                eventPublisher.publishEvent(UserChangedEvent.deleted(deletedIds));
+            }
+            return deletedIds;
+        });
+    }
+}
+
+@Repository
+@RequiredArgsConstructor
+class PostUsersBulkDeleteDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> findIdsByUseridPrefix(String useridPrefix, int limit) {
+        String sql = """
+                SELECT id
+                FROM users
+                WHERE userid LIKE ? ESCAPE '\\'
+                ORDER BY id
+                LIMIT ?
+                """;
+        return jdbcTemplate.queryForList(sql, Long.class, escapeLike(useridPrefix) + "%", limit);
+    }
+
+    /**
+     * Removes the tokens of the whole chunk in one statement; otherwise the
+     * {@code ON DELETE CASCADE} foreign key deletes them once per user row.
+     */
+    public int deleteRefreshTokensByUserIds(List<Long> ids) {
+        String sql = """
+                DELETE FROM refresh_tokens
+                WHERE user_id = ANY(?)
+                """;
+        return jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    public List<Long> deleteByIds(List<Long> ids) {
+        String sql = """
+                DELETE FROM users
+                WHERE id = ANY(?)
+                RETURNING id
+                """;
+        return jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                (rs, rowNum) -> rs.getLong("id"));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
+
+@Data
+class PostUsersBulkDeleteHttpRequestDto {
+    private List<Long> ids;
+    private String useridPrefix;
+    private Boolean confirm;
+}
+
+@Data
+class PostUsersBulkDeleteHttpResponseDto {
+    private int deleted;
+    private int chunks;
+    private List<Long> notFoundIds;
+
+    static PostUsersBulkDeleteHttpResponseDto of(int deleted, int chunks, List<Long> notFoundIds) {
+        PostUsersBulkDeleteHttpResponseDto dto = new PostUsersBulkDeleteHttpResponseDto();
+        dto.setDeleted(deleted);
+        dto.setChunks(chunks);
+        dto.setNotFoundIds(notFoundIds);
+        return dto;
+    }
+}
@@ -0,0 +1,192 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kta.portal.admin.dto.ResponseDto;
+import com.kta.portal.admin.exception.BadRequestException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@RestController
+@RequiredArgsConstructor
+public class PostUsersBulkUpdateController {
+
+    private final PostUsersBulkUpdateService postUsersBulkUpdateService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/api/users/bulk-update")
+    public ResponseEntity<ResponseDto<PostUsersBulkUpdateHttpResponseDto>> bulkUpdateUsers(
+            @Valid @RequestBody PostUsersBulkUpdateHttpRequestDto requestDto) {
+        PostUsersBulkUpdateHttpResponseDto result = postUsersBulkUpdateService.bulkUpdate(requestDto.getUsers(), UserBulkProgress.IGNORE);
+        return ResponseEntity.ok(ResponseDto.success(result));
+    }
+
+    /**
+     * Same operation for callers that accept NDJSON: a progress line per committed chunk,
+     * then the response body. Validation happens before the stream starts.
+     */
+    @PostMapping(value = "/api/users/bulk-update", produces = UserBulkProgress.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> bulkUpdateUsersWithProgress(
+            @Valid @RequestBody PostUsersBulkUpdateHttpRequestDto requestDto) {
+        postUsersBulkUpdateService.validate(requestDto.getUsers());
+        return ResponseEntity.ok()
+                .contentType(UserBulkProgress.APPLICATION_NDJSON)
+                .body(UserBulkProgress.stream(objectMapper,
+                        progress -> postUsersBulkUpdateService.bulkUpdate(requestDto.getUsers(), progress)));
+    }
+}
+
+@Slf4j
+@Service
+class PostUsersBulkUpdateService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_USERS = 100_000;
+
+    private final PostUsersBulkUpdateDao postUsersBulkUpdateDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    PostUsersBulkUpdateService(PostUsersBulkUpdateDao postUsersBulkUpdateDao,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.postUsersBulkUpdateDao = postUsersBulkUpdateDao;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Applies the updates in chunks of {@link #CHUNK_SIZE}, one transaction per chunk.
+     * Ids that do not exist are reported back instead of failing the request.
+     */
+    public PostUsersBulkUpdateHttpResponseDto bulkUpdate(List<PostUsersBulkUpdateItemDto> users,
+                                                         Consumer<UserBulkProgress> progress) {
+        validate(users);
+
+        int chunks = (users.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<Long> missing = new ArrayList<>();
+        int updated = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            List<PostUsersBulkUpdateItemDto> items = users.subList(chunk * CHUNK_SIZE, Math.min(users.size(), (chunk + 1) * CHUNK_SIZE));
+            Set<Long> updatedIds = transactionTemplate.execute(status -> {
+                Set<Long> ids = postUsersBulkUpdateDao.updateNames(items, LocalDateTime.now());
+                if (!ids.isEmpty()) {
+                    eventPublisher.publishEvent(UserChangedEvent.updated(new ArrayList<>(ids)));
+                }
+                return ids;
+            });
+            updated += updatedIds.size();
+            for (PostUsersBulkUpdateItemDto item : items) {
+                if (!updatedIds.contains(item.getId())) {
+                    missing.add(item.getId());
+                }
+            }
+            log.info("Bulk update progress: chunk {}/{}, {} of {} users updated", chunk + 1, chunks, updated, users.size());
+            progress.accept(new UserBulkProgress(chunk + 1, chunks, updated, users.size()));
+        }
+
+        PostUsersBulkUpdateHttpResponseDto dto = new PostUsersBulkUpdateHttpResponseDto();
+        dto.setRequested(users.size());
+        dto.setUpdated(updated);
+        dto.setChunks(chunks);
+        dto.setNotFoundIds(missing);
+        return dto;
+    }
+
+    public void validate(List<PostUsersBulkUpdateItemDto> users) {
+        if (users.size() > MAX_USERS) {
+            throw new BadRequestException("At most " + MAX_USERS + " users are allowed");
+        }
+        Set<Long> seen = new HashSet<>();
+        for (PostUsersBulkUpdateItemDto user : users) {
+            if (!seen.add(user.getId())) {
+                throw new BadRequestException("Duplicate id: " + user.getId());
+            }
+        }
+    }
+}
+
+@Repository
+@RequiredArgsConstructor
+class PostUsersBulkUpdateDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return ids of the rows that were updated
+     */
+    public Set<Long> updateNames(List<PostUsersBulkUpdateItemDto> items, LocalDateTime now) {
+        String sql = """
+                UPDATE users u
+                SET name = v.name, updated_at = ?
+                FROM unnest(?::bigint[], ?::varchar[]) AS v(id, name)
+                WHERE u.id = v.id
+                RETURNING u.id
+                """;
+        Long[] ids = new Long[items.size()];
+        String[] names = new String[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            ids[i] = items.get(i).getId();
+            names[i] = items.get(i).getName();
+        }
+        Set<Long> updated = new HashSet<>();
+        jdbcTemplate.query(sql,
+                ps -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(now));
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids));
+                    ps.setArray(3, ps.getConnection().createArrayOf("varchar", names));
+                },
+                rs -> {
+                    updated.add(rs.getLong("id"));
+                });
+        return updated;
+    }
+}
+
+@Data
+class PostUsersBulkUpdateHttpRequestDto {
+    @NotEmpty(message = "수정할 사용자 목록은 필수입니다")
+    private List<@Valid PostUsersBulkUpdateItemDto> users;
+}
+
+@Data
+class PostUsersBulkUpdateItemDto {
+    @NotNull(message = "사용자 ID는 필수입니다")
+    private Long id;
+
+    @NotBlank(message = "사용자 이름은 필수입니다")
+    @Size(max = 100, message = "사용자 이름은 100자 이하여야 합니다")
+    private String name;
+}
+
+@Data
+class PostUsersBulkUpdateHttpResponseDto {
+    private int requested;
+    private int updated;
+    private int chunks;
+    private List<Long> notFoundIds;
+}
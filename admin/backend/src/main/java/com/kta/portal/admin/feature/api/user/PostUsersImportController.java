@@ -0,0 +1,429 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kta.portal.admin.dto.ResponseDto;
+import com.kta.portal.admin.exception.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+@RestController
+@RequiredArgsConstructor
+public class PostUsersImportController {
+
+    private final PostUsersImportService postUsersImportService;
+
+    @PostMapping(value = "/api/users/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ResponseDto<PostUsersImportHttpResponseDto>> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        PostUsersImportHttpResponseDto result = postUsersImportService.importUsers(contentType, body);
+        return ResponseEntity.ok(ResponseDto.success(result));
+    }
+}
+
+@Slf4j
+@Service
+class PostUsersImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final PostUsersImportDao postUsersImportDao;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashPool;
+
+    PostUsersImportService(PostUsersImportDao postUsersImportDao,
+                           PasswordEncoder passwordEncoder,
+                           ApplicationEventPublisher eventPublisher,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${user.import.hash-parallelism:0}") int hashParallelism) {
+        this.postUsersImportDao = postUsersImportDao;
+        this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashPool = new ForkJoinPool(hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdown();
+    }
+
+    /**
+     * Reads the body in chunks of {@link #CHUNK_SIZE} rows. Each chunk is hashed on the
+     * shared pool and inserted in its own transaction, so a failure part way through
+     * keeps the chunks that were already committed.
+     */
+    public PostUsersImportHttpResponseDto importUsers(MediaType contentType, InputStream body) throws IOException {
+        long started = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        PostUsersImportReader rows = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? new CsvPostUsersImportReader(reader)
+                : new NdjsonPostUsersImportReader(reader, objectMapper);
+
+        List<PostUsersImportResultDto> results = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        List<PostUsersImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        PostUsersImportRow row;
+        while ((row = rows.next()) != null) {
+            String error = row.error() != null ? row.error() : validate(row);
+            if (error != null) {
+                results.add(PostUsersImportResultDto.of(row, PostUsersImportStatus.INVALID, null, error));
+            } else if (!seen.add(row.userid())) {
+                results.add(PostUsersImportResultDto.of(row, PostUsersImportStatus.DUPLICATE, null, "Duplicate userid in import"));
+            } else {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    insertChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, results);
+        }
+
+        results.sort(Comparator.comparingInt(PostUsersImportResultDto::getLine));
+        PostUsersImportHttpResponseDto response = PostUsersImportHttpResponseDto.of(results);
+        log.info("User import finished: {} rows, {} created in {} ms",
+                response.getTotal(), response.getCreated(), (System.nanoTime() - started) / 1_000_000);
+        return response;
+    }
+
+    private String validate(PostUsersImportRow row) {
+        if (isBlank(row.userid()) || isBlank(row.password()) || isBlank(row.name())) {
+            return "userid, password and name are required";
+        }
+        if (row.userid().length() > 50) {
+            return "userid must be at most 50 characters";
+        }
+        if (row.name().length() > 100) {
+            return "name must be at most 100 characters";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private void insertChunk(List<PostUsersImportRow> chunk, List<PostUsersImportResultDto> results) {
+        String[] passwords = encodeAll(chunk);
+        Map<String, Long> inserted = transactionTemplate.execute(status -> {
+            Map<String, Long> ids = postUsersImportDao.insertIgnoringConflicts(chunk, passwords, LocalDateTime.now());
+            if (!ids.isEmpty()) {
+                eventPublisher.publishEvent(UserChangedEvent.created(new ArrayList<>(ids.values())));
+            }
+            return ids;
+        });
+        for (PostUsersImportRow row : chunk) {
+            Long id = inserted.get(row.userid());
+            results.add(id != null
+                    ? PostUsersImportResultDto.of(row, PostUsersImportStatus.CREATED, id, null)
+                    : PostUsersImportResultDto.of(row, PostUsersImportStatus.DUPLICATE, null, "User with this userid already exists"));
+        }
+    }
+
+    private String[] encodeAll(List<PostUsersImportRow> chunk) {
+        List<Callable<String>> tasks = new ArrayList<>(chunk.size());
+        for (PostUsersImportRow row : chunk) {
+            tasks.add(() -> passwordEncoder.encode(row.password()));
+        }
+        String[] passwords = new String[chunk.size()];
+        try {
+            List<Future<String>> futures = hashPool.invokeAll(tasks);
+            for (int i = 0; i < passwords.length; i++) {
+                passwords[i] = futures.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return passwords;
+    }
+}
+
+@Repository
+@RequiredArgsConstructor
+class PostUsersImportDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the whole chunk with one statement; rows whose userid already exists are
+     * skipped by the unique index instead of failing the chunk.
+     *
+     * @return ids of the inserted rows keyed by userid
+     */
+    public Map<String, Long> insertIgnoringConflicts(List<PostUsersImportRow> rows, String[] passwords, LocalDateTime now) {
+        String sql = """
+                INSERT INTO users (userid, password, name, created_at, updated_at)
+                SELECT u.userid, u.password, u.name, ?, ?
+                FROM unnest(?::varchar[], ?::varchar[], ?::varchar[]) AS u(userid, password, name)
+                ON CONFLICT (userid) DO NOTHING
+                RETURNING id, userid
+                """;
+        String[] userids = new String[rows.size()];
+        String[] names = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            userids[i] = rows.get(i).userid();
+            names[i] = rows.get(i).name();
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(sql,
+                ps -> {
+                    ps.setTimestamp(1, timestamp);
+                    ps.setTimestamp(2, timestamp);
+                    ps.setArray(3, ps.getConnection().createArrayOf("varchar", userids));
+                    ps.setArray(4, ps.getConnection().createArrayOf("varchar", passwords));
+                    ps.setArray(5, ps.getConnection().createArrayOf("varchar", names));
+                },
+                rs -> {
+                    ids.put(rs.getString("userid"), rs.getLong("id"));
+                });
+        return ids;
+    }
+}
+
+record PostUsersImportRow(int line, String userid, String password, String name, String error) {
+
+    static PostUsersImportRow invalid(int line, String error) {
+        return new PostUsersImportRow(line, null, null, null, error);
+    }
+}
+
+interface PostUsersImportReader {
+
+    /**
+     * @return the next row, or {@code null} at end of input
+     */
+    PostUsersImportRow next() throws IOException;
+}
+
+class NdjsonPostUsersImportReader implements PostUsersImportReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private int line;
+
+    NdjsonPostUsersImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public PostUsersImportRow next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                PostUsersImportHttpRequestDto dto = objectMapper.readValue(text, PostUsersImportHttpRequestDto.class);
+                return new PostUsersImportRow(line, dto.getUserid(), dto.getPassword(), dto.getName(), null);
+            } catch (JsonProcessingException e) {
+                return PostUsersImportRow.invalid(line, "Malformed JSON");
+            }
+        }
+        return null;
+    }
+}
+
+/**
+ * RFC 4180 style reader: the first record is a header naming the {@code userid},
+ * {@code password} and {@code name} columns in any order; quoted fields may contain
+ * commas, doubled quotes and line breaks.
+ */
+class CsvPostUsersImportReader implements PostUsersImportReader {
+
+    private final BufferedReader reader;
+    private int line;
+    private int recordLine;
+    private int useridColumn = -1;
+    private int passwordColumn = -1;
+    private int nameColumn = -1;
+
+    CsvPostUsersImportReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new BadRequestException("CSV header is required");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim()) {
+                case "userid" -> useridColumn = i;
+                case "password" -> passwordColumn = i;
+                case "name" -> nameColumn = i;
+                default -> {
+                }
+            }
+        }
+        if (useridColumn < 0 || passwordColumn < 0 || nameColumn < 0) {
+            throw new BadRequestException("CSV header must contain userid, password and name");
+        }
+    }
+
+    @Override
+    public PostUsersImportRow next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+        if (record.size() <= Math.max(useridColumn, Math.max(passwordColumn, nameColumn))) {
+            return PostUsersImportRow.invalid(recordLine, "Missing columns");
+        }
+        return new PostUsersImportRow(recordLine, record.get(useridColumn), record.get(passwordColumn), record.get(nameColumn), null);
+    }
+
+    private List<String> readRecord() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        recordLine = ++line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    break;
+                }
+                String next = reader.readLine();
+                if (next == null) {
+                    throw new BadRequestException("Unterminated quoted field at line " + recordLine);
+                }
+                line++;
+                field.append('\n');
+                text = next;
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
+
+enum PostUsersImportStatus {
+    CREATED, DUPLICATE, INVALID
+}
+
+@Data
+class PostUsersImportHttpRequestDto {
+    private String userid;
+    private String password;
+    private String name;
+}
+
+@Data
+class PostUsersImportHttpResponseDto {
+    private int total;
+    private int created;
+    private int skipped;
+    private int failed;
+    private List<PostUsersImportResultDto> results;
+
+    static PostUsersImportHttpResponseDto of(List<PostUsersImportResultDto> results) {
+        PostUsersImportHttpResponseDto dto = new PostUsersImportHttpResponseDto();
+        for (PostUsersImportResultDto result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> dto.created++;
+                case DUPLICATE -> dto.skipped++;
+                case INVALID -> dto.failed++;
+            }
+        }
+        dto.setTotal(results.size());
+        dto.setResults(results);
+        return dto;
+    }
+}
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class PostUsersImportResultDto {
+    private int line;
+    private String userid;
+    private PostUsersImportStatus status;
+    private Long id;
+    private String message;
+
+    static PostUsersImportResultDto of(PostUsersImportRow row, PostUsersImportStatus status, Long id, String message) {
+        PostUsersImportResultDto dto = new PostUsersImportResultDto();
+        dto.setLine(row.line());
+        dto.setUserid(row.userid());
+        dto.setStatus(status);
+        dto.setId(id);
+        dto.setMessage(message);
+        return dto;
+    }
+}
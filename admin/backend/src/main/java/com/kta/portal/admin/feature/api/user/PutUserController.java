@@ -1,31 +1,45 @@
 package com.kta.portal.admin.feature.api.user;
 
 import com.kta.portal.admin.dto.ResponseDto;
-import com.kta.portal.admin.exception.ResourceNotFoundException;
-import com.kta.portal.admin.feature.repository.UserRepository;
-import com.kta.portal.admin.feature.repository.model.User;
+import com.kta.portal.admin.exception.ErrorResponses;
+import com.kta.portal.admin.feature.repository.model.UserRow;
+import com.kta.portal.admin.shard.ShardRouter;
 import jakarta.validation.Valid;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
 public class PutUserController {
-    
+
     private final PutUserService putUserService;
-    
+
     @PutMapping("/api/users/{id}")
-    public ResponseEntity<ResponseDto<PutUserHttpResponseDto>> updateUser(@PathVariable Long id, @Valid @RequestBody PutUserHttpRequestDto requestDto) {
-        PutUserHttpResponseDto user = putUserService.updateUser(id, requestDto);
-        return ResponseEntity.ok(ResponseDto.success(user));
+    public ResponseEntity<ResponseDto<PutUserHttpResponseDto>> updateUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody PutUserHttpRequestDto requestDto) {
+        return switch (putUserService.updateUser(id, UserETag.parseIfMatch(ifMatch, id), requestDto)) {
+            case PutUserResult.Updated(PutUserHttpResponseDto user) -> ResponseEntity.ok()
+                    .eTag(UserETag.of(user.getId(), user.getUpdatedAt()))
+                    .body(ResponseDto.success(user));
+            case PutUserResult.NotFound() -> ErrorResponses.notFound("User not found");
+            case PutUserResult.Modified() -> ErrorResponses.preconditionFailed("User was modified by another request");
+        };
     }
 }
 
@@ -33,41 +47,112 @@ public class PutUserController {
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 class PutUserService {
-    
-    private final UserRepository userRepository;
+
+    private final PutUserDao putUserDao;
     private final PasswordEncoder passwordEncoder;
-    
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @param expectedUpdatedAt {@code updated_at} from the client's {@code If-Match}, or
+     *                          {@code null} to update unconditionally
+     */
     @Transactional
-    public PutUserHttpResponseDto updateUser(Long id, PutUserHttpRequestDto requestDto) {
-        Optional<User> userOpt = userRepository.findById(id);
-        if (userOpt.isEmpty()) {
-            throw new ResourceNotFoundException("User not found");
-        }
-        
-        User user = userOpt.get();
-        if (requestDto.getName() != null) {
-            user.setName(requestDto.getName());
-        }
+    public PutUserResult updateUser(Long id, LocalDateTime expectedUpdatedAt, PutUserHttpRequestDto requestDto) {
+        String encodedPassword = null;
         if (requestDto.getPassword() != null && !requestDto.getPassword().trim().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(requestDto.getPassword()));
+            encodedPassword = passwordEncoder.encode(requestDto.getPassword());
+        }
+
+        Optional<UserRow> updated = putUserDao.update(id, requestDto.getName(), encodedPassword, LocalDateTime.now(), expectedUpdatedAt);
+        if (updated.isEmpty()) {
+            if (expectedUpdatedAt != null && putUserDao.existsById(id)) {
+                return new PutUserResult.Modified();
+            }
+            return new PutUserResult.NotFound();
         }
-        user.setUpdatedAt(LocalDateTime.now());
-        
-        User savedUser = userRepository.save(user);
-        return convertToHttpResponseDto(savedUser);
+
+        eventPublisher.publishEvent(UserChangedEvent.updated(id));
+        return new PutUserResult.Updated(convertToHttpResponseDto(updated.get()));
     }
-    
-    private PutUserHttpResponseDto convertToHttpResponseDto(User user) {
+
+    private PutUserHttpResponseDto convertToHttpResponseDto(UserRow row) {
         PutUserHttpResponseDto dto = new PutUserHttpResponseDto();
-        dto.setId(user.getId());
-        dto.setUserid(user.getUserid());
-        dto.setName(user.getName());
-        dto.setCreatedAt(user.getCreatedAt());
-        dto.setUpdatedAt(user.getUpdatedAt());
+        dto.setId(row.id());
+        dto.setUserid(row.userid());
+        dto.setName(row.name());
+        dto.setCreatedAt(row.createdAt());
+        dto.setUpdatedAt(row.updatedAt());
         return dto;
     }
 }
 
+/**
+ * Outcome of an update; a missing user and a lost {@code If-Match} race are expected
+ * answers, not exceptions.
+ */
+sealed interface PutUserResult {
+
+    record Updated(PutUserHttpResponseDto user) implements PutUserResult {
+    }
+
+    record NotFound() implements PutUserResult {
+    }
+
+    record Modified() implements PutUserResult {
+    }
+}
+
+@Repository
+@RequiredArgsConstructor
+class PutUserDao {
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * Writes only the supplied columns and returns the updated row from the same
+     * statement. With {@code expectedUpdatedAt} the row is only touched if nobody
+     * changed it since the client read it.
+     */
+    public Optional<UserRow> update(Long id, String name, String password, LocalDateTime updatedAt, LocalDateTime expectedUpdatedAt) {
+        StringBuilder set = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        if (name != null) {
+            set.append("name = ?, ");
+            params.add(name);
+        }
+        if (password != null) {
+            set.append("password = ?, ");
+            params.add(password);
+        }
+        set.append("updated_at = ?");
+        params.add(Timestamp.valueOf(updatedAt));
+        params.add(id);
+
+        String condition = "";
+        if (expectedUpdatedAt != null) {
+            condition = " AND updated_at = ?";
+            params.add(Timestamp.valueOf(expectedUpdatedAt));
+        }
+
+        String sql = """
+                UPDATE users
+                SET %s
+                WHERE id = ?%s
+                RETURNING id, userid, name, created_at, updated_at
+                """.formatted(set, condition);
+        return shardRouter.forId(id).jdbcTemplate().query(sql, UserField.rowMapper(UserField.ALL), params.toArray())
+                .stream()
+                .findFirst();
+    }
+
+    public boolean existsById(Long id) {
+        String sql = """
+                SELECT EXISTS (SELECT 1 FROM users WHERE id = ?)
+                """;
+        return Boolean.TRUE.equals(shardRouter.forId(id).jdbcTemplate().queryForObject(sql, Boolean.class, id));
+    }
+}
+
 @Data
 class PutUserHttpRequestDto {
     private String name;
@@ -81,4 +166,4 @@ class PutUserHttpResponseDto {
     private String name;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+}
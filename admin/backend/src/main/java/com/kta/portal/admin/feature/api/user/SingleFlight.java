@@ -0,0 +1,117 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.deadline.RequestDeadline;
+import com.kta.portal.admin.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent loads: the first caller for a key (the leader) runs
+ * the loader on its own thread, so its transaction and request deadline apply, and
+ * callers arriving while it runs wait for and share its result or exception.
+ *
+ * Keys must identify the data version as well as the query, otherwise a caller
+ * arriving after a commit could be handed a result loaded before it.
+ *
+ * A waiting caller gives up after its own request deadline or {@code maxWait},
+ * whichever comes first. Past the deadline it fails with
+ * {@link DeadlineExceededException}; after {@code maxWait} it stops waiting for a slow
+ * leader and loads the data itself. When the leader failed only because its own
+ * deadline passed, waiting callers retry instead of inheriting that failure.
+ *
+ * Waiting blocks only the calling thread and works the same on virtual threads.
+ */
+class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+    private final Counter coalesced;
+
+    SingleFlight(String query, Duration maxWait, MeterRegistry meterRegistry) {
+        this.maxWait = maxWait;
+        this.coalesced = Counter.builder("user.reads.coalesced")
+                .description("Reads answered by another caller's in-flight query instead of their own")
+                .tag("query", query)
+                .register(meterRegistry);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        while (true) {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, loader);
+            }
+            try {
+                V value = await(existing);
+                coalesced.increment();
+                return value;
+            } catch (TimeoutException e) {
+                return loader.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof DeadlineExceededException) {
+                    continue;
+                }
+                coalesced.increment();
+                throw rethrow(e.getCause());
+            }
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> flight) throws ExecutionException, TimeoutException {
+        RequestDeadline deadline = RequestDeadline.current();
+        long waitNanos = maxWait.toNanos();
+        boolean deadlineFirst = false;
+        if (deadline != null) {
+            deadline.check();
+            long remaining = deadline.remaining().toNanos();
+            if (remaining <= waitNanos) {
+                waitNanos = remaining;
+                deadlineFirst = true;
+            }
+        }
+        try {
+            return flight.get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight user query", e);
+        } catch (TimeoutException e) {
+            if (deadlineFirst) {
+                throw deadline.exceeded(e);
+            }
+            throw e;
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
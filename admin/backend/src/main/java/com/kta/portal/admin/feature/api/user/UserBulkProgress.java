@@ -0,0 +1,76 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kta.portal.admin.dto.ErrorDetail;
+import com.kta.portal.admin.dto.ResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Progress of a chunked bulk operation after each committed chunk.
+ *
+ * Callers that send {@code Accept: application/x-ndjson} get one {@code {"progress":...}}
+ * line per chunk, flushed as it commits, followed by the usual {@link ResponseDto} body as
+ * the last line. {@code chunks} and {@code total} are omitted when they are not known up
+ * front, as for a userid prefix delete.
+ *
+ * @param chunk     1-based number of the chunk that just committed
+ * @param processed users changed so far
+ */
+@Slf4j
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record UserBulkProgress(int chunk, Integer chunks, int processed, Integer total) {
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    static final Consumer<UserBulkProgress> IGNORE = progress -> {
+    };
+
+    /**
+     * Runs {@code operation} while streaming its progress. The status is already 200 once
+     * the first line is written, so a later failure ends the stream with an error body.
+     */
+    static <T> StreamingResponseBody stream(ObjectMapper objectMapper, Function<Consumer<UserBulkProgress>, T> operation) {
+        return outputStream -> {
+            ResponseDto<T> result;
+            try {
+                result = ResponseDto.success(operation.apply(progress ->
+                        writeLine(objectMapper, outputStream, Map.of("progress", progress))));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                log.warn("Bulk operation failed after streaming started", e);
+                result = ResponseDto.error(List.of(ErrorDetail.builder()
+                        .message("Internal server error")
+                        .code("INTERNAL_SERVER_ERROR")
+                        .build()));
+            }
+            try {
+                writeLine(objectMapper, outputStream, result);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static void writeLine(ObjectMapper objectMapper, OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
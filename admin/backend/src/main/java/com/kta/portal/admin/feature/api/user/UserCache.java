@@ -0,0 +1,145 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kta.portal.admin.feature.repository.model.UserRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of full {@link UserRow}s keyed by id.
+ *
+ * Entries are evicted after the writing transaction commits, so a rolled-back
+ * change is never evicted early and never reloaded into the cache. A reader that
+ * loaded a row concurrently with a commit may try to put the old row back; the
+ * {@link #generation} counter catches that and drops the entry again.
+ *
+ * Concurrent misses for the same id share one load through {@link SingleFlight},
+ * also when caching is disabled. The flight is keyed by generation, so a reader that
+ * starts after an eviction never joins a load that began before it.
+ */
+@Slf4j
+@Component
+class UserCache {
+
+    private final boolean enabled;
+    private final Cache<Long, UserRow> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<FlightKey, Optional<UserRow>> loads;
+
+    UserCache(@Value("${user.cache.enabled:true}") boolean enabled,
+              @Value("${user.cache.max-size:10000}") long maxSize,
+              @Value("${user.cache.ttl:10m}") Duration ttl,
+              @Value("${user.single-flight.max-wait:5s}") Duration maxWait,
+              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+        this.loads = new SingleFlight<>("user", maxWait, meterRegistry);
+        log.info("User cache {}: max {} entries, ttl {}", enabled ? "enabled" : "disabled", maxSize, ttl);
+    }
+
+    public Optional<UserRow> get(Long id, Supplier<Optional<UserRow>> loader) {
+        if (!enabled) {
+            return loads.get(new FlightKey(generation.get(), id), loader);
+        }
+        UserRow cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long observed = generation.get();
+        Optional<UserRow> loaded = loads.get(new FlightKey(observed, id), loader);
+        loaded.ifPresent(row -> put(id, row, observed));
+        return loaded;
+    }
+
+    /**
+     * Returns the cached row without loading it.
+     */
+    public Optional<UserRow> getIfPresent(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Returns the cached rows and loads the rest with one call to {@code loader}.
+     */
+    public Map<Long, UserRow> getAll(Collection<Long> ids, Function<Collection<Long>, List<UserRow>> loader) {
+        if (!enabled) {
+            return index(loader.apply(ids));
+        }
+        Map<Long, UserRow> rows = new HashMap<>(cache.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !rows.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            long observed = generation.get();
+            for (UserRow row : loader.apply(missing)) {
+                rows.put(row.id(), row);
+                put(row.id(), row, observed);
+            }
+        }
+        return rows;
+    }
+
+    public void invalidate(Collection<Long> ids) {
+        generation.incrementAndGet();
+        cache.invalidateAll(ids);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.ids());
+    }
+
+    @EventListener
+    public void onUserInvalidated(UserInvalidatedEvent event) {
+        if (event.all()) {
+            invalidateAll();
+        } else {
+            invalidate(event.ids());
+        }
+    }
+
+    private void put(Long id, UserRow row, long observed) {
+        cache.put(id, row);
+        if (generation.get() != observed) {
+            cache.invalidate(id);
+        }
+    }
+
+    private record FlightKey(long generation, Long id) {
+    }
+
+    private static Map<Long, UserRow> index(List<UserRow> rows) {
+        Map<Long, UserRow> indexed = new HashMap<>();
+        for (UserRow row : rows) {
+            indexed.put(row.id(), row);
+        }
+        return indexed;
+    }
+}
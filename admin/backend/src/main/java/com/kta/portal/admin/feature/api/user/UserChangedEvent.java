@@ -0,0 +1,39 @@
+package com.kta.portal.admin.feature.api.user;
+
+import java.util.List;
+
+/**
+ * Published by the user write services inside their transaction.
+ * Listeners that keep derived state (directory, caches) subscribe with
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public record UserChangedEvent(Type type, List<Long> ids) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static UserChangedEvent created(Long id) {
+        return new UserChangedEvent(Type.CREATED, List.of(id));
+    }
+
+    public static UserChangedEvent created(List<Long> ids) {
+        return new UserChangedEvent(Type.CREATED, List.copyOf(ids));
+    }
+
+    public static UserChangedEvent updated(Long id) {
+        return new UserChangedEvent(Type.UPDATED, List.of(id));
+    }
+
+    public static UserChangedEvent updated(List<Long> ids) {
+        return new UserChangedEvent(Type.UPDATED, List.copyOf(ids));
+    }
+
+    public static UserChangedEvent deleted(Long id) {
+        return new UserChangedEvent(Type.DELETED, List.of(id));
+    }
+
+    public static UserChangedEvent deleted(List<Long> ids) {
+        return new UserChangedEvent(Type.DELETED, List.copyOf(ids));
+    }
+}
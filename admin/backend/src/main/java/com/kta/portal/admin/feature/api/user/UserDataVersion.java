@@ -0,0 +1,68 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.shard.Shard;
+import com.kta.portal.admin.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Global version of the users table, read from the database so every instance derives
+ * the same value and writes that bypass the application (SQL consoles, migrations,
+ * other services) move it too.
+ *
+ * The version is the newest {@code change_xid} of {@code users} and
+ * {@code user_tombstones}: the triggers stamp it on every insert, update and delete, so
+ * anything derived from "all users" (list pages, list ETags) can be tagged with it and
+ * invalidated in O(1). Both lookups are a single step down the {@code change_xid}
+ * indexes. With shards the per-shard versions are joined in shard order.
+ *
+ * Transaction ids are handed out at the first write but become visible at commit, so a
+ * transaction older than the newest change may still commit without moving the
+ * maximum. The version is therefore only reported once every transaction up to it has
+ * finished, that is below {@code pg_snapshot_xmin}; until then {@link #current()} has no
+ * version and callers must neither cache nor answer 304.
+ */
+@Component
+@RequiredArgsConstructor
+class UserDataVersion {
+
+    private static final String UNSETTLED = "";
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * Read this before querying; data loaded afterwards is at least as new as the version.
+     *
+     * @return the current version, or {@code null} while an older transaction may still
+     *         commit a change
+     */
+    public String current() {
+        List<String> versions = shardRouter.scatter(UserDataVersion::findShardVersion);
+        if (versions.contains(UNSETTLED)) {
+            return null;
+        }
+        return String.join(".", versions);
+    }
+
+    public String etag(String version) {
+        return "\"" + version + "\"";
+    }
+
+    private static String findShardVersion(Shard shard) {
+        String sql = """
+                SELECT greatest(
+                           (SELECT change_xid FROM users ORDER BY change_xid DESC LIMIT 1),
+                           (SELECT change_xid FROM user_tombstones ORDER BY change_xid DESC LIMIT 1))::text AS last_xid,
+                       pg_snapshot_xmin(pg_current_snapshot())::text AS visible_bound
+                """;
+        return shard.jdbcTemplate().queryForObject(sql, (rs, rowNum) -> {
+            String lastXid = rs.getString("last_xid");
+            if (lastXid == null) {
+                return "0";
+            }
+            return Long.parseLong(lastXid) < Long.parseLong(rs.getString("visible_bound")) ? lastXid : UNSETTLED;
+        });
+    }
+}
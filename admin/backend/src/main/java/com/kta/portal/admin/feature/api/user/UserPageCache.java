@@ -0,0 +1,75 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Serialized list responses keyed by request parameters plus {@link UserDataVersion}.
+ * Nothing is ever evicted explicitly: a write moves the version, lookups use the new
+ * version, and entries of older versions simply age out of the LRU.
+ *
+ * Concurrent misses for the same key share one load through {@link SingleFlight},
+ * also when caching is disabled. The load runs outside the cache, so a slow query
+ * does not hold a lock that other keys may need.
+ */
+@Component
+class UserPageCache {
+
+    private final boolean enabled;
+    private final Cache<Key, byte[]> cache;
+    private final SingleFlight<Key, byte[]> loads;
+
+    UserPageCache(@Value("${user.page-cache.enabled:true}") boolean enabled,
+                  @Value("${user.page-cache.max-size:200}") long maxSize,
+                  @Value("${user.page-cache.ttl:10m}") Duration ttl,
+                  @Value("${user.single-flight.max-wait:5s}") Duration maxWait,
+                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-pages");
+        this.loads = new SingleFlight<>("users-page", maxWait, meterRegistry);
+    }
+
+    /**
+     * Keys without a version are never cached; concurrent identical loads are still shared.
+     */
+    public byte[] get(Key key, Supplier<byte[]> loader) {
+        if (!enabled || key.version() == null) {
+            return loads.get(key, loader);
+        }
+        byte[] cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return loads.get(key, () -> {
+            byte[] raced = cache.getIfPresent(key);
+            if (raced != null) {
+                return raced;
+            }
+            byte[] loaded = loader.get();
+            cache.put(key, loaded);
+            return loaded;
+        });
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @param query canonical form of every parameter that shapes the response
+     */
+    record Key(String version, String endpoint, String query) {
+    }
+}
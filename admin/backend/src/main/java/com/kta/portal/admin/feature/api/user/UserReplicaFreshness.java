@@ -0,0 +1,38 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.replica.ReplicaLagMonitor;
+import com.kta.portal.admin.replica.ReplicaRouting;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Reports committed user changes to {@link ReplicaRouting}, with the primary WAL
+ * position read by {@link ReplicaLagMonitor}, when replica routing is enabled. Runs
+ * before the cache and version listeners, so a reader that sees an eviction can no
+ * longer be routed to a replica that may predate it.
+ */
+@Component
+class UserReplicaFreshness {
+
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    UserReplicaFreshness(ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        replicaLagMonitor.ifAvailable(ReplicaLagMonitor::recordWrite);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onUserInvalidated(UserInvalidatedEvent event) {
+        replicaLagMonitor.ifAvailable(ReplicaLagMonitor::recordWrite);
+    }
+}
@@ -0,0 +1,92 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.shard.Shard;
+import com.kta.portal.admin.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes {@code user_tombstones} older than {@code user.tombstones.retention} every
+ * {@code user.tombstones.prune-interval}, on every shard.
+ *
+ * The same statement raises {@code user_tombstones_pruned} to the newest transaction id
+ * it removed, so {@code GET /api/users/changes} can tell a token that may have missed a
+ * deletion and answer 410 instead of silently skipping it. The newest tombstone is
+ * always kept, so {@link UserDataVersion} never moves backwards. Pruning is idempotent,
+ * so every instance may run it.
+ */
+@Slf4j
+@Component
+class UserTombstonePruner implements AutoCloseable {
+
+    private final ShardRouter shardRouter;
+    private final Duration retention;
+    private final ScheduledExecutorService scheduler;
+
+    UserTombstonePruner(ShardRouter shardRouter,
+                        @Value("${user.tombstones.retention:30d}") Duration retention,
+                        @Value("${user.tombstones.prune-interval:1h}") Duration interval) {
+        this.shardRouter = shardRouter;
+        this.retention = retention;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-tombstone-pruner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pruneQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return tombstones deleted across all shards
+     */
+    public int prune() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        int pruned = 0;
+        for (Integer shardPruned : shardRouter.scatter(shard -> prune(shard, cutoff))) {
+            pruned += shardPruned;
+        }
+        if (pruned > 0) {
+            log.info("Pruned {} user tombstones deleted before {}", pruned, cutoff);
+        }
+        return pruned;
+    }
+
+    private static int prune(Shard shard, Timestamp cutoff) {
+        String sql = """
+                WITH pruned AS (
+                    DELETE FROM user_tombstones
+                    WHERE deleted_at < ?
+                      AND change_xid < (SELECT change_xid FROM user_tombstones ORDER BY change_xid DESC LIMIT 1)
+                    RETURNING change_xid
+                ), horizon AS (
+                    UPDATE user_tombstones_pruned
+                    SET change_xid = greatest(change_xid,
+                            (SELECT change_xid FROM pruned ORDER BY change_xid DESC LIMIT 1))
+                )
+                SELECT count(*) FROM pruned
+                """;
+        Integer pruned = shard.jdbcTemplate().queryForObject(sql, Integer.class, cutoff);
+        return pruned != null ? pruned : 0;
+    }
+
+    private void pruneQuietly() {
+        try {
+            prune();
+        } catch (RuntimeException e) {
+            log.warn("User tombstone pruning failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,15 @@
+package com.kta.portal.admin.feature.repository.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a user row without the password column.
+ */
+public record UserRow(
+        Long id,
+        String userid,
+        String name,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,31 @@
+package com.kta.portal.admin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.kta.portal.DaoQuery")
+@Label("DAO Query")
+@Description("One call of a DAO or repository method")
+@Category({"KTA Portal", "Data Access"})
+@Enabled(false)
+@Threshold("20 ms")
+@StackTrace(false)
+public class DaoQueryEvent extends Event {
+
+    @Label("Statement")
+    @Description("SimpleClassName.method of the DAO")
+    public String statement;
+
+    @Label("Rows")
+    @Description("Rows returned or affected, -1 when the result does not tell")
+    public long rows;
+
+    @Label("Outcome")
+    public String outcome;
+}
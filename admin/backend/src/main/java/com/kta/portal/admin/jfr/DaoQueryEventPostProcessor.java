@@ -0,0 +1,82 @@
+package com.kta.portal.admin.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits a {@link DaoQueryEvent} for every call of a {@code @Repository} method while a
+ * recording has the event enabled. Otherwise the call only pays for the
+ * {@code isEnabled()} check.
+ */
+public class DaoQueryEventPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public DaoQueryEventPostProcessor() {
+        this.advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Repository.class, true),
+                new DaoQueryEventInterceptor());
+        setProxyTargetClass(true);
+    }
+
+    private static final class DaoQueryEventInterceptor implements MethodInterceptor {
+
+        private final Map<Method, String> statements = new ConcurrentHashMap<>();
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            DaoQueryEvent event = new DaoQueryEvent();
+            if (!event.isEnabled() || invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            event.begin();
+            try {
+                Object result = invocation.proceed();
+                commit(event, invocation, "success", rows(result));
+                return result;
+            } catch (Throwable e) {
+                commit(event, invocation, e.getClass().getSimpleName(), -1);
+                throw e;
+            }
+        }
+
+        private void commit(DaoQueryEvent event, MethodInvocation invocation, String outcome, long rows) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.statement = statements.computeIfAbsent(invocation.getMethod(), method ->
+                        ClassUtils.getUserClass(invocation.getThis()).getSimpleName() + "." + method.getName());
+                event.rows = rows;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+
+        private static long rows(Object result) {
+            return switch (result) {
+                case Collection<?> collection -> collection.size();
+                case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+                case Integer count -> count;
+                case Long count -> count;
+                case int[] counts -> {
+                    long sum = 0;
+                    for (int count : counts) {
+                        sum += Math.max(count, 0);
+                    }
+                    yield sum;
+                }
+                case Boolean ignored -> -1;
+                case null -> -1;
+                default -> 1;
+            };
+        }
+    }
+}
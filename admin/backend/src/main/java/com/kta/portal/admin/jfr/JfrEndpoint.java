@@ -0,0 +1,94 @@
+package com.kta.portal.admin.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * On-demand flight recordings:
+ * <ul>
+ *     <li>{@code GET /actuator/jfr}: status of the current or last recording;</li>
+ *     <li>{@code POST /actuator/jfr} with optional {@code {"duration": "5m"}}: start one,
+ *     409 if one is already running;</li>
+ *     <li>{@code DELETE /actuator/jfr}: stop it, 409 if none is running;</li>
+ *     <li>{@code GET /actuator/jfr/recording}: download it as a {@code .jfr} file, also
+ *     while it is still running.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "jfr.enabled", havingValue = "true")
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private final JfrRecorder jfrRecorder;
+
+    public JfrEndpoint(JfrRecorder jfrRecorder) {
+        this.jfrRecorder = jfrRecorder;
+    }
+
+    @ReadOperation
+    public JfrRecorder.Status status() {
+        return jfrRecorder.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<JfrRecorder.Status> start(@Nullable Duration duration) {
+        JfrRecorder.Status status = jfrRecorder.start(duration);
+        if (status == null) {
+            return new WebEndpointResponse<>(jfrRecorder.status(), HttpStatus.CONFLICT.value());
+        }
+        return new WebEndpointResponse<>(status);
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<JfrRecorder.Status> stop() {
+        JfrRecorder.Status status = jfrRecorder.stop();
+        if (status == null) {
+            return new WebEndpointResponse<>(jfrRecorder.status(), HttpStatus.CONFLICT.value());
+        }
+        return new WebEndpointResponse<>(status);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector String name) {
+        if (!"recording".equals(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = jfrRecorder.dump();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    /**
+     * Deletes the dumped file once the response has been streamed.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+}
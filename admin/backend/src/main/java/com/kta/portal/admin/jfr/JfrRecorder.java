@@ -0,0 +1,149 @@
+package com.kta.portal.admin.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Holds the one on-demand flight recording. A recording combines the JDK's low-overhead
+ * {@code default} settings with this application's events, each enabled with its
+ * configured threshold so that only slow calls are recorded. It stops by itself after
+ * {@code jfr.max-duration} and keeps at most {@code jfr.max-size} on disk.
+ *
+ * The {@code default} settings also capture every environment variable and system
+ * property at the start of each chunk, which includes credentials passed that way; those
+ * two events are switched off.
+ *
+ * A stopped recording stays available for download until the next one starts.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jfr.enabled", havingValue = "true")
+public class JfrRecorder {
+
+    static final String[] SENSITIVE_EVENTS = {"jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty"};
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Duration jwtThreshold;
+    private final Duration passwordThreshold;
+    private final Duration daoThreshold;
+    private final Duration securityFilterThreshold;
+    private Recording recording;
+
+    public JfrRecorder(@Value("${jfr.max-duration:30m}") Duration maxDuration,
+                       @Value("${jfr.max-size:100MB}") DataSize maxSize,
+                       @Value("${jfr.threshold.jwt:1ms}") Duration jwtThreshold,
+                       @Value("${jfr.threshold.password:200ms}") Duration passwordThreshold,
+                       @Value("${jfr.threshold.dao:20ms}") Duration daoThreshold,
+                       @Value("${jfr.threshold.security-filter:5ms}") Duration securityFilterThreshold) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.jwtThreshold = jwtThreshold;
+        this.passwordThreshold = passwordThreshold;
+        this.daoThreshold = daoThreshold;
+        this.securityFilterThreshold = securityFilterThreshold;
+    }
+
+    /**
+     * @param duration how long to record, capped at {@code jfr.max-duration}; {@code null} for the maximum
+     * @return the new recording's status, or {@code null} if one is already running
+     */
+    public synchronized Status start(Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return null;
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        Recording next = new Recording(defaultConfiguration().getSettings());
+        next.setName("kta-portal-on-demand");
+        for (String event : SENSITIVE_EVENTS) {
+            next.disable(event);
+        }
+        next.enable(JwtTokenEvent.class).withThreshold(jwtThreshold);
+        next.enable(PasswordEncoderEvent.class).withThreshold(passwordThreshold);
+        next.enable(DaoQueryEvent.class).withThreshold(daoThreshold);
+        next.enable(SecurityFilterEvent.class).withThreshold(securityFilterThreshold);
+        next.setToDisk(true);
+        next.setMaxSize(maxSize.toBytes());
+        next.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        next.start();
+        recording = next;
+        log.info("Started flight recording {} for {}", next.getId(), next.getDuration());
+        return status();
+    }
+
+    /**
+     * @return the stopped recording's status, or {@code null} if none was running
+     */
+    public synchronized Status stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        recording.stop();
+        log.info("Stopped flight recording {}", recording.getId());
+        return status();
+    }
+
+    public synchronized Status status() {
+        if (recording == null) {
+            return new Status("NONE", null, null, null, 0);
+        }
+        return new Status(recording.getState().name(), recording.getStartTime(), recording.getStopTime(),
+                recording.getDuration(), recording.getSize());
+    }
+
+    /**
+     * Writes the current or last recording to a new temporary file; a running recording
+     * keeps running.
+     *
+     * @return the file, or {@code null} if nothing has been recorded yet
+     */
+    public synchronized Path dump() {
+        if (recording == null || recording.getState() == RecordingState.NEW
+                || recording.getState() == RecordingState.CLOSED) {
+            return null;
+        }
+        try {
+            Path file = Files.createTempFile("kta-portal-", ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dump flight recording", e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Configuration defaultConfiguration() {
+        try {
+            return Configuration.getConfiguration("default");
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JDK flight recorder settings 'default' are not available", e);
+        }
+    }
+
+    public record Status(String state, Instant startTime, Instant stopTime, Duration duration, long size) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.kta.portal.admin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.kta.portal.JwtToken")
+@Label("JWT Token")
+@Description("Signing, verifying or parsing an access token")
+@Category({"KTA Portal", "Auth"})
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public class JwtTokenEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    public String outcome;
+}
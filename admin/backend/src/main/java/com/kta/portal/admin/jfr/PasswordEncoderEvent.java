@@ -0,0 +1,34 @@
+package com.kta.portal.admin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.kta.portal.PasswordEncoder")
+@Label("Password Encoder")
+@Description("Hashing a password or checking one against its stored hash")
+@Category({"KTA Portal", "Auth"})
+@Enabled(false)
+@Threshold("200 ms")
+@StackTrace(false)
+public class PasswordEncoderEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Algorithm")
+    @Description("Id prefix of the hash, e.g. bcrypt or noop")
+    public String algorithm;
+
+    @Label("Cost")
+    @Description("bcrypt log rounds, -1 for other algorithms")
+    public int cost;
+
+    @Label("Outcome")
+    public String outcome;
+}
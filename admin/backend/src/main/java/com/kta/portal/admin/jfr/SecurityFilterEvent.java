@@ -0,0 +1,30 @@
+package com.kta.portal.admin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.kta.portal.SecurityFilter")
+@Label("Security Filter")
+@Description("Authentication of one request by JwtAuthenticationFilter")
+@Category({"KTA Portal", "Auth"})
+@Enabled(false)
+@Threshold("5 ms")
+@StackTrace(false)
+public class SecurityFilterEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Outcome")
+    @Description("jwt, dev-auth, invalid-token, no-token or pre-authenticated")
+    public String outcome;
+}
@@ -0,0 +1,148 @@
+package com.kta.portal.admin.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free AIMD concurrency limit driven by a latency gradient.
+ *
+ * Each completed request updates a short-term (~10 samples) and a long-term
+ * (~500 samples) moving average of its latency. When the short-term average rises
+ * above {@code tolerance} times the long-term one, the backend is queueing, and the
+ * limit is multiplied by {@link #BACKOFF}, at most once per short-term latency so one
+ * burst of slow responses does not collapse it. Otherwise, while the limit is actually
+ * in use, it grows by {@code 1/limit} per sample, roughly one slot per full window.
+ * Failures (5xx) count as congestion as well.
+ *
+ * All state lives in atomics; {@link #tryAcquire()} is a single CAS loop.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    static final double BACKOFF = 0.9;
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.002;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong shortRttBits = new AtomicLong(Double.doubleToRawLongBits(0));
+    private final AtomicLong longRttBits = new AtomicLong(Double.doubleToRawLongBits(0));
+    private final AtomicLong lastDecreaseNanos = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param tolerance latency ratio treated as congestion; 0 ignores latency and only
+     *                  reacts to failures, for endpoints whose duration depends on the
+     *                  amount of data rather than on load
+     */
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(clamp(initialLimit)));
+    }
+
+    /**
+     * @return false if the request must be rejected; otherwise the caller must call
+     *         {@link #release} exactly once
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long rttNanos, boolean failed) {
+        int concurrent = inFlight.getAndDecrement();
+        double shortRtt = update(shortRttBits, rttNanos, SHORT_ALPHA);
+        double longRtt = update(longRttBits, rttNanos, LONG_ALPHA);
+        boolean congested = failed || (tolerance > 0 && shortRtt > longRtt * tolerance);
+        if (congested) {
+            decrease(System.nanoTime(), shortRtt);
+        } else if (concurrent * 2 >= limit()) {
+            increase();
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getLimit() {
+        return (int) limit();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    double getShortRttMillis() {
+        return Double.longBitsToDouble(shortRttBits.get()) / 1_000_000.0;
+    }
+
+    double getLongRttMillis() {
+        return Double.longBitsToDouble(longRttBits.get()) / 1_000_000.0;
+    }
+
+    private double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    private void decrease(long now, double shortRtt) {
+        long last = lastDecreaseNanos.get();
+        if (last != 0 && now - last < shortRtt) {
+            return;
+        }
+        if (!lastDecreaseNanos.compareAndSet(last, now)) {
+            return;
+        }
+        long bits;
+        do {
+            bits = limitBits.get();
+        } while (!limitBits.compareAndSet(bits, Double.doubleToRawLongBits(clamp(Double.longBitsToDouble(bits) * BACKOFF))));
+    }
+
+    private void increase() {
+        long bits;
+        do {
+            bits = limitBits.get();
+            double current = Double.longBitsToDouble(bits);
+            if (current >= maxLimit) {
+                return;
+            }
+        } while (!limitBits.compareAndSet(bits, Double.doubleToRawLongBits(
+                clamp(Double.longBitsToDouble(bits) + 1.0 / Double.longBitsToDouble(bits)))));
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+
+    private static double update(AtomicLong averageBits, long sample, double alpha) {
+        long bits;
+        double next;
+        do {
+            bits = averageBits.get();
+            double current = Double.longBitsToDouble(bits);
+            next = current == 0 ? sample : current + alpha * (sample - current);
+        } while (!averageBits.compareAndSet(bits, Double.doubleToRawLongBits(next)));
+        return next;
+    }
+}
@@ -0,0 +1,141 @@
+package com.kta.portal.admin.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kta.portal.admin.dto.ErrorDetail;
+import com.kta.portal.admin.dto.ResponseDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load per {@link EndpointGroup} before any other work (including authentication)
+ * is done: requests over the group's adaptive limit get 503 with {@code Retry-After}
+ * immediately instead of queueing in Tomcat. Async requests (exports) hold their slot
+ * until the async response completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Map<EndpointGroup, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointGroup.class);
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(Environment environment, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String prefix = "concurrency-limit." + group.key() + ".";
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(group.key(),
+                    environment.getProperty(prefix + "initial", Integer.class, group.initialLimit()),
+                    environment.getProperty(prefix + "min", Integer.class, group.minLimit()),
+                    environment.getProperty(prefix + "max", Integer.class, group.maxLimit()),
+                    environment.getProperty(prefix + "tolerance", Double.class, group.tolerance()));
+            limiters.put(group, limiter);
+            Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("group", group.key())
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("group", group.key())
+                    .register(meterRegistry);
+            FunctionCounter.builder("http.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("group", group.key())
+                    .register(meterRegistry);
+        }
+    }
+
+    Collection<AdaptiveConcurrencyLimiter> limiters() {
+        return limiters.values();
+    }
+
+    AdaptiveConcurrencyLimiter limiter(EndpointGroup group) {
+        return limiters.get(group);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(group);
+        if (!limiter.tryAcquire()) {
+            reject(response, group);
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        release(limiter, released, start, response.getStatus() >= 500);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                        release(limiter, released, start, true);
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        release(limiter, released, start, true);
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                release(limiter, released, start, failed);
+            }
+        }
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, AtomicBoolean released, long start, boolean failed) {
+        if (released.compareAndSet(false, true)) {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private void reject(HttpServletResponse response, EndpointGroup group) throws IOException {
+        ResponseDto<Object> body = ResponseDto.error(List.of(ErrorDetail.builder()
+                .message("Too many concurrent " + group.key() + " requests, retry later")
+                .code("SERVICE_UNAVAILABLE")
+                .build()));
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
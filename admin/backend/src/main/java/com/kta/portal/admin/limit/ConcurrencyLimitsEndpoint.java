@@ -0,0 +1,38 @@
+package com.kta.portal.admin.limit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/concurrencylimits}: current limit, in-flight requests, rejections
+ * and latency averages of each endpoint group.
+ */
+@Component
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+@Endpoint(id = "concurrencylimits")
+public class ConcurrencyLimitsEndpoint {
+
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    public ConcurrencyLimitsEndpoint(ConcurrencyLimitFilter concurrencyLimitFilter) {
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
+    }
+
+    @ReadOperation
+    public Map<String, GroupLimit> limits() {
+        Map<String, GroupLimit> limits = new LinkedHashMap<>();
+        for (AdaptiveConcurrencyLimiter limiter : concurrencyLimitFilter.limiters()) {
+            limits.put(limiter.getName(), new GroupLimit(limiter.getLimit(), limiter.getInFlight(), limiter.getRejected(),
+                    limiter.getShortRttMillis(), limiter.getLongRttMillis()));
+        }
+        return limits;
+    }
+
+    public record GroupLimit(int limit, int inFlight, long rejected, double shortRttMillis, double longRttMillis) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.kta.portal.admin.limit;
+
+/**
+ * Endpoint groups with independent concurrency limits, so an overload in one (e.g. a
+ * burst of writes) cannot starve the others. Defaults are {@code initial, min, max,
+ * tolerance}; each can be overridden with {@code concurrency-limit.<key>.<property>}.
+ */
+enum EndpointGroup {
+    AUTH("auth", 20, 2, 100, 2.0),
+    USER_READS("user-reads", 50, 4, 400, 2.0),
+    USER_WRITES("user-writes", 20, 2, 100, 2.0),
+    EXPORTS("exports", 2, 1, 4, 0);
+
+    private final String key;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    EndpointGroup(String key, int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.key = key;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int initialLimit() {
+        return initialLimit;
+    }
+
+    int minLimit() {
+        return minLimit;
+    }
+
+    int maxLimit() {
+        return maxLimit;
+    }
+
+    double tolerance() {
+        return tolerance;
+    }
+
+    /**
+     * @return the group of the request, or {@code null} if it is not limited (the SSE
+     *         stream, which has its own subscriber limit, and anything outside the API)
+     */
+    static EndpointGroup of(String method, String path) {
+        if (path.equals("/api/login") || path.equals("/api/refresh") || path.equals("/api/logout")) {
+            return AUTH;
+        }
+        if (path.equals("/api/users/export")) {
+            return EXPORTS;
+        }
+        if (path.equals("/api/users/stream")) {
+            return null;
+        }
+        if (path.equals("/api/users") || path.startsWith("/api/users/")) {
+            return method.equals("GET") || method.equals("HEAD") ? USER_READS : USER_WRITES;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.kta.portal.admin.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One timer name with {@code operation}, {@code outcome} and {@code exception} tags,
+ * following the scheme in {@code docs/operations/metrics.md}. Every tag value comes from
+ * code (method names, fixed outcomes, exception class names), never from request data,
+ * so the number of series is bounded by the code base.
+ *
+ * Percentile histograms and SLO buckets are configured per name through
+ * {@code management.metrics.distribution.*}.
+ */
+public class OperationTimers {
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+    public static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final String name;
+    private final String description;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public OperationTimers(MeterRegistry meterRegistry, String name, String description) {
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+        this.description = description;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void success(Timer.Sample sample, String operation) {
+        stop(sample, operation, SUCCESS, null);
+    }
+
+    public void error(Timer.Sample sample, String operation, Throwable error) {
+        stop(sample, operation, ERROR, error);
+    }
+
+    public void stop(Timer.Sample sample, String operation, String outcome, Throwable error) {
+        String exception = error == null ? NO_EXCEPTION : error.getClass().getSimpleName();
+        sample.stop(timers.computeIfAbsent(new TimerKey(operation, outcome, exception), key -> Timer.builder(name)
+                .description(description)
+                .tag("operation", key.operation())
+                .tag("outcome", key.outcome())
+                .tag("exception", key.exception())
+                .register(meterRegistry)));
+    }
+
+    private record TimerKey(String operation, String outcome, String exception) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.kta.portal.admin.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public method of beans carrying {@code stereotype}, e.g. all
+ * {@code @Repository} DAOs as {@code dao.invocations}. The {@code operation} tag is
+ * {@code SimpleClassName.method}.
+ *
+ * With {@code outermostOnly} a call made while another call of the same timer is running
+ * on the thread is not recorded, so a DAO that delegates to another DAO is counted and
+ * timed once, under its own name.
+ *
+ * The registry is looked up on the first call so that registering this post-processor
+ * does not create the registry before its own customizers are in place.
+ */
+public class TimedComponentPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public TimedComponentPostProcessor(Class<? extends Annotation> stereotype, String name, String description,
+                                       boolean outermostOnly, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(stereotype, true),
+                new TimingInterceptor(name, description, outermostOnly, meterRegistry));
+        setProxyTargetClass(true);
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        private final String name;
+        private final String description;
+        private final boolean outermostOnly;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final Map<Method, String> operations = new ConcurrentHashMap<>();
+        private final ThreadLocal<Boolean> timing = new ThreadLocal<>();
+        private volatile OperationTimers timers;
+
+        private TimingInterceptor(String name, String description, boolean outermostOnly,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+            this.name = name;
+            this.description = description;
+            this.outermostOnly = outermostOnly;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class || (outermostOnly && timing.get() != null)) {
+                return invocation.proceed();
+            }
+            String operation = operations.computeIfAbsent(method, m ->
+                    ClassUtils.getUserClass(invocation.getThis()).getSimpleName() + "." + m.getName());
+            OperationTimers timers = timers();
+            if (outermostOnly) {
+                timing.set(Boolean.TRUE);
+            }
+            Timer.Sample sample = timers.start();
+            try {
+                Object result = invocation.proceed();
+                timers.success(sample, operation);
+                return result;
+            } catch (Throwable e) {
+                timers.error(sample, operation, e);
+                throw e;
+            } finally {
+                if (outermostOnly) {
+                    timing.remove();
+                }
+            }
+        }
+
+        private OperationTimers timers() {
+            OperationTimers current = timers;
+            if (current == null) {
+                current = new OperationTimers(meterRegistry.getObject(), name, description);
+                timers = current;
+            }
+            return current;
+        }
+    }
+}
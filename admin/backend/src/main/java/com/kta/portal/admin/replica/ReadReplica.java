@@ -0,0 +1,18 @@
+package com.kta.portal.admin.replica;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a DAO whose queries only read and may be served by the read replica when
+ * {@code replica.enabled=true}. Calls made inside a read-write transaction still use
+ * that transaction's primary connection.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadReplica {
+}
@@ -0,0 +1,19 @@
+package com.kta.portal.admin.replica;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+/**
+ * Proxies {@link ReadReplica} beans so their calls run in a read-only routing scope.
+ */
+public class ReadReplicaPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public ReadReplicaPostProcessor() {
+        this.advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(ReadReplica.class, true),
+                (MethodInterceptor) ReplicaRouting::invokeReadOnly);
+        setBeforeExistingAdvisors(true);
+    }
+}
@@ -0,0 +1,112 @@
+package com.kta.portal.admin.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replication lag every {@code interval} and reports it to
+ * {@link ReplicaRouting}.
+ *
+ * Each check reads the primary's WAL position first and then the replica's replay
+ * position. A replica that has replayed up to that position is caught up; one that has
+ * not is as far behind as its last replayed transaction is old. Comparing with the
+ * primary matters because a standby that has replayed everything it received may still
+ * not have received the latest WAL. A server that is not in recovery (a copy rather
+ * than a standby) has no comparable position and always reports zero. A failed check
+ * reports the lag as unknown, which sends all reads to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final String PRIMARY_LSN_SQL = """
+            SELECT pg_current_wal_lsn() - '0/0'::pg_lsn
+            """;
+
+    private static final String REPLICA_SQL = """
+            SELECT pg_is_in_recovery() AS standby,
+                   pg_last_wal_replay_lsn() - '0/0'::pg_lsn AS replay_lsn,
+                   EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS replay_age_millis
+            """;
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReplicaRouting routing;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean failing;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaRouting routing, Duration interval) {
+        int timeoutSeconds = (int) Math.max(1, interval.toSeconds());
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.primaryJdbcTemplate.setQueryTimeout(timeoutSeconds);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.replicaJdbcTemplate.setQueryTimeout(timeoutSeconds);
+        this.routing = routing;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        check();
+        scheduler.scheduleWithFixedDelay(this::check, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records a committed change together with the primary's WAL position, which is at
+     * or past the change's commit record. Reads go back to the replica once it has
+     * replayed that far.
+     */
+    public void recordWrite() {
+        Long primaryLsn = null;
+        try {
+            primaryLsn = primaryJdbcTemplate.queryForObject(PRIMARY_LSN_SQL, Long.class);
+        } catch (RuntimeException e) {
+            log.debug("Could not read the primary WAL position: {}", e.getMessage());
+        }
+        routing.recordWrite(primaryLsn);
+    }
+
+    void check() {
+        long started = System.nanoTime();
+        try {
+            Long primaryLsn = primaryJdbcTemplate.queryForObject(PRIMARY_LSN_SQL, Long.class);
+            replicaJdbcTemplate.query(REPLICA_SQL, rs -> {
+                if (!rs.getBoolean("standby")) {
+                    routing.recordLag(started, Duration.ZERO, null);
+                    return;
+                }
+                long replayLsn = rs.getLong("replay_lsn");
+                if (rs.wasNull()) {
+                    routing.recordLag(started, null, null);
+                    return;
+                }
+                if (primaryLsn != null && replayLsn >= primaryLsn) {
+                    routing.recordLag(started, Duration.ZERO, replayLsn);
+                    return;
+                }
+                double ageMillis = rs.getDouble("replay_age_millis");
+                routing.recordLag(started, rs.wasNull() ? null : Duration.ofMillis(Math.round(ageMillis)), replayLsn);
+            });
+            if (failing) {
+                log.info("Replica lag check recovered");
+                failing = false;
+            }
+        } catch (RuntimeException e) {
+            routing.recordLag(started, null, null);
+            if (!failing) {
+                log.warn("Replica lag check failed, reading from the primary: {}", e.getMessage());
+                failing = true;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
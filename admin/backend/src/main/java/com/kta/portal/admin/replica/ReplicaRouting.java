@@ -0,0 +1,150 @@
+package com.kta.portal.admin.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether the connection about to be opened may come from the replica.
+ *
+ * A read qualifies when it runs in a {@code @Transactional(readOnly = true)}
+ * transaction, or through a {@link ReadReplica} DAO outside any read-write
+ * transaction, and all of the following hold:
+ * <ul>
+ *     <li>the last lag check is recent and measured at most {@code maxLag};</li>
+ *     <li>that check shows the replica has replayed every change this instance has
+ *     seen committed: its replay LSN is at or past the primary WAL position recorded
+ *     after the change, and the check started after the change. Caches are therefore
+ *     never refilled with rows older than their eviction;</li>
+ *     <li>the current user has not written within {@code readYourWritesWindow}.</li>
+ * </ul>
+ * Everything else, including every write, goes to the primary.
+ *
+ * All of this state is per instance. A writer whose next request lands on another
+ * instance is only covered there once the invalidation bus has delivered the change
+ * and {@link #recordWrite(Long)} has run for it; until then that instance may still
+ * route the writer's reads to the replica.
+ */
+public class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> READ_ONLY_SCOPE = new ThreadLocal<>();
+
+    private final Duration maxLag;
+    private final long staleAfterNanos;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicLong lastWriteNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong lastWriteLsn = new AtomicLong();
+    private volatile Measurement measurement;
+
+    public ReplicaRouting(Duration maxLag, Duration checkInterval, Duration readYourWritesWindow) {
+        this.maxLag = maxLag;
+        this.staleAfterNanos = checkInterval.toNanos() * 3;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    static Object invokeReadOnly(MethodInvocation invocation) throws Throwable {
+        Boolean previous = READ_ONLY_SCOPE.get();
+        READ_ONLY_SCOPE.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            if (previous == null) {
+                READ_ONLY_SCOPE.remove();
+            }
+        }
+    }
+
+    public boolean useReplica() {
+        if (!isReadOnly()) {
+            return false;
+        }
+        if (!isReplicaFresh()) {
+            return false;
+        }
+        String user = currentUser();
+        return user == null || recentWriters.getIfPresent(user) == null;
+    }
+
+    /**
+     * A {@link ReadReplica} scope only counts outside a transaction: inside a read-write
+     * transaction the connection it would open is the one the transaction's writes use.
+     */
+    private static boolean isReadOnly() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return true;
+        }
+        return READ_ONLY_SCOPE.get() != null && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * The replica is usable for reads that tolerate no more than the configured lag and
+     * do not depend on this instance's latest write.
+     */
+    public boolean isReplicaFresh() {
+        Measurement current = measurement;
+        if (current == null || current.lag() == null || current.lag().compareTo(maxLag) > 0) {
+            return false;
+        }
+        if (System.nanoTime() - current.checkedNanos() > staleAfterNanos) {
+            return false;
+        }
+        long horizon = current.checkedNanos() - current.lag().toNanos();
+        if (horizon - lastWriteNanos.get() <= 0) {
+            return false;
+        }
+        return current.replayLsn() == null || current.replayLsn() >= lastWriteLsn.get();
+    }
+
+    /**
+     * Called after a change committed, here or on another instance. Pins the writing
+     * user, if any, to the primary for the read-your-writes window.
+     *
+     * @param primaryLsn primary WAL position read after the commit, or {@code null} if
+     *                   it could not be read; the time-based check still applies
+     */
+    public void recordWrite(Long primaryLsn) {
+        long now = System.nanoTime();
+        lastWriteNanos.accumulateAndGet(now, (previous, next) -> next - previous > 0 ? next : previous);
+        if (primaryLsn != null) {
+            lastWriteLsn.accumulateAndGet(primaryLsn, Math::max);
+        }
+        String user = currentUser();
+        if (user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @param lag       how far the replica was behind when the check started, or
+     *                  {@code null} if it could not be measured
+     * @param replayLsn WAL position the replica had replayed, or {@code null} for a
+     *                  server that is not a standby and has no comparable position
+     */
+    void recordLag(long checkedNanos, Duration lag, Long replayLsn) {
+        measurement = new Measurement(checkedNanos, lag, replayLsn);
+    }
+
+    /**
+     * @return the last measured lag, or {@code null} if unknown
+     */
+    public Duration lag() {
+        Measurement current = measurement;
+        return current != null ? current.lag() : null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private record Measurement(long checkedNanos, Duration lag, Long replayLsn) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.kta.portal.admin.replica;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends each new connection to the primary or the replica as decided by
+ * {@link ReplicaRouting}. Must sit behind a {@code LazyConnectionDataSourceProxy} so
+ * the decision is made at the first statement, after a transaction has declared
+ * itself read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReplicaRouting routing;
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaRouting routing) {
+        this.routing = routing;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (routing.useReplica()) {
+            replicaConnections.increment();
+            return REPLICA;
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("db.routing.connections", primaryConnections, LongAdder::sum)
+                .description("Connections handed out by the replica routing data source")
+                .tag("target", PRIMARY)
+                .register(registry);
+        FunctionCounter.builder("db.routing.connections", replicaConnections, LongAdder::sum)
+                .description("Connections handed out by the replica routing data source")
+                .tag("target", REPLICA)
+                .register(registry);
+    }
+}
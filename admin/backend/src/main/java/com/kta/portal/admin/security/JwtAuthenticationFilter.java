@@ -1,5 +1,6 @@
 package com.kta.portal.admin.security;
 
+import com.kta.portal.admin.jfr.SecurityFilterEvent;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -31,35 +32,59 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
+        SecurityFilterEvent event = new SecurityFilterEvent();
+        event.begin();
+        String outcome;
+
         // 이미 인증이 있으면 (예: @WithMockUser) JWT 처리 건너뛰기
         if (SecurityContextHolder.getContext().getAuthentication() != null) {
-            filterChain.doFilter(request, response);
-            return;
+            outcome = "pre-authenticated";
+        } else {
+            outcome = authenticate(request);
         }
-        
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.path = request.getRequestURI();
+            event.outcome = outcome;
+            event.commit();
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @return how the request was authenticated, for {@link SecurityFilterEvent}
+     */
+    private String authenticate(HttpServletRequest request) {
         // Development authentication header check first (only in dev profiles)
         String devAuth = getDevAuthFromRequest(request);
         if (StringUtils.hasText(devAuth) && isDevProfileActive()) {
             processDevAuthentication(devAuth);
-        } else {
-            // Regular JWT authentication
-            String token = getTokenFromRequest(request);
-            if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-                Claims claims = jwtTokenProvider.getClaimsFromToken(token);
-                String userid = claims.get("userid", String.class);
-
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(
-                        userid,
-                        null,
-                        Collections.emptyList()
-                    );
+            return "dev-auth";
+        }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+        // Regular JWT authentication
+        String token = getTokenFromRequest(request);
+        if (!StringUtils.hasText(token)) {
+            return "no-token";
         }
+        if (!jwtTokenProvider.validateToken(token)) {
+            return "invalid-token";
+        }
+        Claims claims = jwtTokenProvider.getClaimsFromToken(token);
+        String userid = claims.get("userid", String.class);
 
-        filterChain.doFilter(request, response);
+        UsernamePasswordAuthenticationToken authentication = 
+            new UsernamePasswordAuthenticationToken(
+                userid,
+                null,
+                Collections.emptyList()
+            );
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return "jwt";
     }
 
     private String getDevAuthFromRequest(HttpServletRequest request) {
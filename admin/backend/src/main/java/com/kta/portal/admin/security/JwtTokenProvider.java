@@ -1,13 +1,20 @@
 package com.kta.portal.admin.security;
 
+import com.kta.portal.admin.jfr.JwtTokenEvent;
+import com.kta.portal.admin.metrics.OperationTimers;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.function.Supplier;
 
 @Component
 public class JwtTokenProvider {
@@ -24,47 +31,65 @@ public class JwtTokenProvider {
     @Value("${jwt.issuer}")
     private String issuer;
 
+    private OperationTimers timers = timers(Metrics.globalRegistry);
+
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.timers = timers(meterRegistry);
+    }
+
+    private static OperationTimers timers(MeterRegistry meterRegistry) {
+        return new OperationTimers(meterRegistry, "jwt.tokens", "JWT signing and verification");
+    }
+
     private SecretKey getSigningKey() {
         return Keys.hmacShaKeyFor(secretKey.getBytes());
     }
 
     public String generateToken(Long id, String userid, String name) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + accessTokenValidity);
-
-        return Jwts.builder()
-                .claim("id", id)
-                .claim("userid", userid)
-                .claim("name", name)
-                .setIssuer(issuer)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+        return timed("sign", () -> {
+            Date now = new Date();
+            Date expiryDate = new Date(now.getTime() + accessTokenValidity);
+
+            return Jwts.builder()
+                    .claim("id", id)
+                    .claim("userid", userid)
+                    .claim("name", name)
+                    .setIssuer(issuer)
+                    .setIssuedAt(now)
+                    .setExpiration(expiryDate)
+                    .signWith(getSigningKey())
+                    .compact();
+        });
     }
 
     public String generateToken(Authentication authentication) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + accessTokenValidity);
-
-        return Jwts.builder()
-                .setSubject(authentication.getName())
-                .setIssuer(issuer)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+        return timed("sign", () -> {
+            Date now = new Date();
+            Date expiryDate = new Date(now.getTime() + accessTokenValidity);
+
+            return Jwts.builder()
+                    .setSubject(authentication.getName())
+                    .setIssuer(issuer)
+                    .setIssuedAt(now)
+                    .setExpiration(expiryDate)
+                    .signWith(getSigningKey())
+                    .compact();
+        });
     }
 
     public Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
+        return timed("parse", () -> Jwts.parser()
                 .verifyWith(getSigningKey())
                 .build()
                 .parseSignedClaims(token)
-                .getPayload();
+                .getPayload());
     }
 
     public boolean validateToken(String token) {
+        JwtTokenEvent event = new JwtTokenEvent();
+        event.begin();
+        Timer.Sample sample = timers.start();
         try {
             Claims claims = Jwts.parser()
                     .verifyWith(getSigningKey())
@@ -75,11 +100,14 @@ public class JwtTokenProvider {
             // Verify issuer
             String tokenIssuer = claims.getIssuer();
             if (tokenIssuer == null || !tokenIssuer.equals(issuer)) {
+                finish(sample, event, "verify", "invalid", null);
                 return false;
             }
             
+            finish(sample, event, "verify", OperationTimers.SUCCESS, null);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
+            finish(sample, event, "verify", "invalid", e);
             return false;
         }
     }
@@ -94,4 +122,34 @@ public class JwtTokenProvider {
         Claims claims = getClaimsFromToken(token);
         return claims.getIssuer();
     }
-}
\ No newline at end of file
+
+    /**
+     * Invalid tokens are tagged {@code outcome=invalid}; anything else that fails is an error.
+     */
+    private <T> T timed(String operation, Supplier<T> action) {
+        JwtTokenEvent event = new JwtTokenEvent();
+        event.begin();
+        Timer.Sample sample = timers.start();
+        try {
+            T result = action.get();
+            finish(sample, event, operation, OperationTimers.SUCCESS, null);
+            return result;
+        } catch (JwtException | IllegalArgumentException e) {
+            finish(sample, event, operation, "invalid", e);
+            throw e;
+        } catch (RuntimeException e) {
+            finish(sample, event, operation, OperationTimers.ERROR, e);
+            throw e;
+        }
+    }
+
+    private void finish(Timer.Sample sample, JwtTokenEvent event, String operation, String outcome, Throwable error) {
+        timers.stop(sample, operation, outcome, error);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.kta.portal.admin.security;
+
+import com.kta.portal.admin.jfr.PasswordEncoderEvent;
+import com.kta.portal.admin.metrics.OperationTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Records {@code password.encoder} timings around the delegate. Hashing is by design the
+ * slowest step of login, user creation and import, so it is measured separately from
+ * the DAOs around it. {@code matches} reports {@code outcome=mismatch} for a wrong
+ * password.
+ *
+ * While a flight recording enables it, each call also emits a
+ * {@link PasswordEncoderEvent} with the hash algorithm and bcrypt cost.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final OperationTimers timers;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timers = new OperationTimers(meterRegistry, "password.encoder", "Password hashing and verification");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordEncoderEvent event = new PasswordEncoderEvent();
+        event.begin();
+        Timer.Sample sample = timers.start();
+        try {
+            String encoded = delegate.encode(rawPassword);
+            timers.success(sample, "encode");
+            commit(event, "encode", encoded, OperationTimers.SUCCESS);
+            return encoded;
+        } catch (RuntimeException e) {
+            timers.error(sample, "encode", e);
+            commit(event, "encode", null, OperationTimers.ERROR);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordEncoderEvent event = new PasswordEncoderEvent();
+        event.begin();
+        Timer.Sample sample = timers.start();
+        try {
+            boolean matches = delegate.matches(rawPassword, encodedPassword);
+            String outcome = matches ? OperationTimers.SUCCESS : "mismatch";
+            timers.stop(sample, "matches", outcome, null);
+            commit(event, "matches", encodedPassword, outcome);
+            return matches;
+        } catch (RuntimeException e) {
+            timers.error(sample, "matches", e);
+            commit(event, "matches", encodedPassword, OperationTimers.ERROR);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static void commit(PasswordEncoderEvent event, String operation, String hash, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.algorithm = algorithm(hash);
+            event.cost = cost(hash);
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    /**
+     * The {@code {id}} prefix the delegating encoder stores in front of every hash.
+     */
+    static String algorithm(String hash) {
+        if (hash == null || !hash.startsWith("{")) {
+            return "unknown";
+        }
+        int end = hash.indexOf('}');
+        return end > 0 ? hash.substring(1, end) : "unknown";
+    }
+
+    /**
+     * Log rounds of a {@code {bcrypt}$2a$10$...} hash, -1 for anything else.
+     */
+    static int cost(String hash) {
+        if (hash == null || !hash.startsWith("{bcrypt}$2")) {
+            return -1;
+        }
+        int start = hash.indexOf('$', "{bcrypt}$2".length());
+        if (start < 0 || hash.length() < start + 3) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash, start + 1, start + 3, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.kta.portal.admin.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One PostgreSQL node holding a slice of {@code users} and the {@code refresh_tokens}
+ * of those users.
+ *
+ * @param index               position in the shard map
+ * @param count               number of shards in the map
+ * @param transactionTemplate local transactions on this node; on shard 0 it joins an
+ *                            enclosing {@code @Transactional}, which only covers the
+ *                            application data source
+ */
+public record Shard(int index, int count, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+
+    /**
+     * SQL expression for the id of a user inserted on this shard. Ids are
+     * {@code sequence * count + index}, so every id names its shard and ids stay unique
+     * across shards; with a single shard this is the plain sequence value.
+     */
+    public String nextUserIdSql() {
+        if (count == 1) {
+            return "nextval('users_id_seq')";
+        }
+        return "nextval('users_id_seq') * " + count + " + " + index;
+    }
+}
@@ -0,0 +1,104 @@
+package com.kta.portal.admin.shard;
+
+import com.kta.portal.admin.deadline.RequestDeadline;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Maps users to {@link Shard}s. A user lives on the shard chosen by a CRC-32C hash of
+ * its {@code userid}, and its id encodes that shard (see {@link Shard#nextUserIdSql()}),
+ * so lookups by either key touch one node. Queries over all users fan out to every
+ * shard in parallel on virtual threads.
+ *
+ * Without {@code shard.enabled} there is a single shard backed by the application
+ * {@code JdbcTemplate}; every call then runs inline exactly as before.
+ *
+ * The shard map is the ordered node list. Adding or reordering nodes moves users, so
+ * it can only change together with a data migration.
+ */
+public class ShardRouter {
+
+    private final List<Shard> shards;
+
+    public ShardRouter(List<JdbcTemplate> jdbcTemplates) {
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < jdbcTemplates.size(); i++) {
+            JdbcTemplate jdbcTemplate = jdbcTemplates.get(i);
+            TransactionTemplate transactionTemplate =
+                    new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+            shards.add(new Shard(i, jdbcTemplates.size(), jdbcTemplate, transactionTemplate));
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    public List<Shard> all() {
+        return shards;
+    }
+
+    public Shard forUserid(String userid) {
+        if (shards.size() == 1) {
+            return shards.getFirst();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(userid.getBytes(StandardCharsets.UTF_8));
+        return shards.get((int) (crc.getValue() % shards.size()));
+    }
+
+    public Shard forId(long id) {
+        return shards.get(Math.floorMod(id, shards.size()));
+    }
+
+    /**
+     * Runs {@code query} against every shard and returns the results in shard order.
+     * The request deadline applies on every shard; the first failure is rethrown.
+     */
+    public <T> List<T> scatter(Function<Shard, T> query) {
+        if (shards.size() == 1) {
+            return List.of(query.apply(shards.getFirst()));
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Shard shard : shards) {
+                futures.add(executor.submit(() -> deadline != null
+                        ? RequestDeadline.callWith(deadline, () -> query.apply(shard))
+                        : query.apply(shard)));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        }
+    }
+}
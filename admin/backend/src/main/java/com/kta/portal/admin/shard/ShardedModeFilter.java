@@ -0,0 +1,63 @@
+package com.kta.portal.admin.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kta.portal.admin.dto.ErrorDetail;
+import com.kta.portal.admin.dto.ResponseDto;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rejects, with 501, the user endpoints that still assume a single node (they would
+ * silently see only shard 0): export, import, bulk update and delete, the change feed
+ * and suggestions.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "shard.enabled", havingValue = "true")
+public class ShardedModeFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SINGLE_NODE_PATHS = Set.of(
+            "/api/users/export",
+            "/api/users/import",
+            "/api/users/bulk-update",
+            "/api/users/bulk-delete",
+            "/api/users/changes",
+            "/api/users/suggest");
+
+    private final ObjectMapper objectMapper;
+
+    public ShardedModeFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!SINGLE_NODE_PATHS.contains(path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ResponseDto<Object> body = ResponseDto.error(List.of(ErrorDetail.builder()
+                .message("Not available with sharded user storage")
+                .code("NOT_IMPLEMENTED")
+                .build()));
+        response.setStatus(HttpStatus.NOT_IMPLEMENTED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,55 @@
+package com.kta.portal.admin.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of per-shard results that are each sorted by the same comparator.
+ */
+public final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    /**
+     * @return elements {@code offset .. offset + limit - 1} of the merged order
+     */
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> comparator, long offset, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                (a, b) -> comparator.compare(a.head, b.head));
+        for (List<T> list : sorted) {
+            Iterator<T> iterator = list.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Cursor<>(iterator.next(), iterator));
+            }
+        }
+        List<T> page = new ArrayList<>(limit);
+        long skipped = 0;
+        while (!heads.isEmpty() && page.size() < limit) {
+            Cursor<T> cursor = heads.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page.add(cursor.head);
+            }
+            if (cursor.rest.hasNext()) {
+                cursor.head = cursor.rest.next();
+                heads.add(cursor);
+            }
+        }
+        return page;
+    }
+
+    private static final class Cursor<T> {
+        private T head;
+        private final Iterator<T> rest;
+
+        private Cursor(T head, Iterator<T> rest) {
+            this.head = head;
+            this.rest = rest;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.kta.portal.admin.config;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "db.limiter.enabled=true",
+        "db.limiter.max-concurrent=2",
+        "db.limiter.acquire-timeout=200ms"
+})
+public class BoundedDataSourceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testDataSource_ShouldBeBounded() {
+        BoundedDataSource bounded = assertInstanceOf(BoundedDataSource.class, dataSource);
+        assertEquals(2, bounded.getLimit());
+    }
+
+    @Test
+    void testGetConnection_OverLimit_ShouldFailFast() throws Exception {
+        BoundedDataSource bounded = (BoundedDataSource) dataSource;
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertEquals(2, bounded.getInUse());
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        assertEquals(0, bounded.getInUse());
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(1, bounded.getInUse());
+        }
+    }
+
+    @Test
+    void testGetUser_WhenConnectionsExhausted_ShouldReturn503() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            mockMvc.perform(withUserAuth(get("/api/users/1")))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.errors[0].code").value("SERVICE_UNAVAILABLE"));
+        }
+        mockMvc.perform(withUserAuth(get("/api/users/1")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,80 @@
+package com.kta.portal.admin.deadline;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+public class RequestDeadlineFilterTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testGetUser_WithinDeadline_ShouldReturn200() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/1")).header("X-Request-Timeout", "5000"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetUser_BlockedPastDeadline_ShouldCancelQueryAndReturn504() throws Exception {
+        double before = exceeded("/api/users/{id}");
+        try (Connection locker = dataSource.getConnection()) {
+            locker.setAutoCommit(false);
+            try (Statement statement = locker.createStatement()) {
+                statement.execute("LOCK TABLE users IN ACCESS EXCLUSIVE MODE");
+            }
+            long start = System.nanoTime();
+            mockMvc.perform(withUserAuth(get("/api/users/1")).header("X-Request-Timeout", "500"))
+                    .andExpect(status().isGatewayTimeout())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.errors[0].code").value("DEADLINE_EXCEEDED"));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            // JDBC timeouts are whole seconds, so the query is cancelled after one second
+            assertTrue(elapsedMillis < 5_000, "Query was not cancelled, took " + elapsedMillis + " ms");
+            locker.rollback();
+        }
+        assertEquals(before + 1, exceeded("/api/users/{id}"));
+    }
+
+    @Test
+    void testGetUser_WithExpiredDeadline_ShouldFailBeforeQuerying() throws Exception {
+        double before = exceeded("/api/users/{id}");
+        mockMvc.perform(withUserAuth(get("/api/users/1")).header("X-Request-Timeout", "0"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.errors[0].code").value("DEADLINE_EXCEEDED"));
+        assertEquals(before + 1, exceeded("/api/users/{id}"));
+    }
+
+    @Test
+    void testGetUser_WithInvalidTimeoutHeader_ShouldUseDefault() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/1")).header("X-Request-Timeout", "soon"))
+                .andExpect(status().isOk());
+    }
+
+    private double exceeded(String uri) {
+        Counter counter = meterRegistry.find("http.server.deadline.exceeded")
+                .tags("method", "GET", "uri", uri)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.kta.portal.admin.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DomainExceptionTest {
+
+    @Test
+    void testDomainExceptions_ShouldNotCaptureStackTraces() {
+        IllegalStateException cause = new IllegalStateException("cause");
+        List<RuntimeException> exceptions = List.of(
+                new BadRequestException("message", cause),
+                new UnauthorizedException("message", cause),
+                new ForbiddenException("message", cause),
+                new ResourceNotFoundException("message", cause),
+                new ConflictException("message", cause),
+                new PreconditionFailedException("message", cause),
+                new ServiceUnavailableException("message", cause));
+        for (RuntimeException exception : exceptions) {
+            exception.addSuppressed(new IllegalStateException("suppressed"));
+
+            assertEquals(0, exception.getStackTrace().length, exception.getClass().getSimpleName());
+            assertEquals(0, exception.getSuppressed().length, exception.getClass().getSimpleName());
+            assertEquals("message", exception.getMessage());
+            assertSame(cause, exception.getCause());
+        }
+    }
+
+    @Test
+    void testDomainExceptions_WithoutCause_ShouldNotCaptureStackTraces() {
+        assertEquals(0, new ResourceNotFoundException("User not found").getStackTrace().length);
+        assertEquals(0, new BadRequestException("Invalid id").getStackTrace().length);
+    }
+}
@@ -0,0 +1,40 @@
+package com.kta.portal.admin.feature.api.auth;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserAuthDaoTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserAuthDao userAuthDao;
+
+    @Test
+    void testFindCredentialsByUserid_ShouldMapRow() {
+        assertEquals(Optional.of(new UserCredentials(1L, "admin", "{noop}admin", "관리자")),
+                userAuthDao.findCredentialsByUserid("admin"));
+    }
+
+    @Test
+    void testFindIdentityById_ShouldMapRow() {
+        assertEquals(Optional.of(new UserIdentity(2L, "user", "사용자")),
+                userAuthDao.findIdentityById(2L));
+    }
+
+    @Test
+    void testFindIdByUserid_ShouldMapRow() {
+        assertEquals(Optional.of(2L), userAuthDao.findIdByUserid("user"));
+    }
+
+    @Test
+    void testLookups_WithUnknownUser_ShouldReturnEmpty() {
+        assertTrue(userAuthDao.findCredentialsByUserid("nobody").isEmpty());
+        assertTrue(userAuthDao.findIdentityById(999L).isEmpty());
+        assertTrue(userAuthDao.findIdByUserid("nobody").isEmpty());
+    }
+}
@@ -7,7 +7,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @AutoConfigureMockMvc
@@ -50,4 +52,65 @@ public class GetUserControllerTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.errors[0].code").value("NOT_FOUND"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetUserByIdWithFields_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/1").param("fields", "userid,name")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.userid").value("admin"))
+                .andExpect(jsonPath("$.data.name").value("관리자"))
+                .andExpect(jsonPath("$.data.id").doesNotExist())
+                .andExpect(jsonPath("$.data.updatedAt").doesNotExist());
+    }
+
+    @Test
+    void testGetUserByIdIfNoneMatch_ShouldReturn304UntilChanged() throws Exception {
+        String etag = mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(withUserAuth(get("/api/users/2")).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(withUserAuth(put("/api/users/2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "Renamed For ETag"
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(withUserAuth(get("/api/users/2")).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Renamed For ETag"));
+    }
+
+    @Test
+    void testGetUserByIdWithFields_ShouldUseDistinctETag() throws Exception {
+        String full = mockMvc.perform(withUserAuth(get("/api/users/1")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String projected = mockMvc.perform(withUserAuth(get("/api/users/1").param("fields", "userid,name")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(full, projected);
+
+        mockMvc.perform(withUserAuth(get("/api/users/1").param("fields", "userid,name")).header("If-None-Match", full))
+                .andExpect(status().isOk());
+        mockMvc.perform(withUserAuth(get("/api/users/1").param("fields", "userid,name")).header("If-None-Match", projected))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testGetUserByIdIfNoneMatchNotFound_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/999")).header("If-None-Match", "\"999-0\""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].code").value("NOT_FOUND"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+public class GetUsersByIdsControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testGetUsersByIds_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/users").param("ids", "1,2"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testGetUsersByIds_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users").param("ids", "2,999,1")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].id").value(2))
+                .andExpect(jsonPath("$.data[0].found").value(true))
+                .andExpect(jsonPath("$.data[0].user.userid").value("user"))
+                .andExpect(jsonPath("$.data[1].id").value(999))
+                .andExpect(jsonPath("$.data[1].found").value(false))
+                .andExpect(jsonPath("$.data[1].user").doesNotExist())
+                .andExpect(jsonPath("$.data[2].id").value(1))
+                .andExpect(jsonPath("$.data[2].user.userid").value("admin"));
+    }
+
+    @Test
+    void testGetUsersByIds_WithAdminRole() throws Exception {
+        mockMvc.perform(withAdminAuth(get("/api/users").param("ids", "1").param("fields", "name")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].user.name").value("관리자"))
+                .andExpect(jsonPath("$.data[0].user.userid").doesNotExist());
+    }
+
+    @Test
+    void testGetUsersByIdsInvalidId_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users").param("ids", "1,abc")))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+    }
+}
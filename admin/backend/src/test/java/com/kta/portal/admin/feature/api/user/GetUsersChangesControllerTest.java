@@ -0,0 +1,193 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.jayway.jsonpath.JsonPath;
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+public class GetUsersChangesControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserTombstonePruner userTombstonePruner;
+
+    @Test
+    void testGetUserChanges_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/users/changes"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testGetUserChangesFromStart_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/changes")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.changes.length()").value(2))
+                .andExpect(jsonPath("$.data.changes[0].userid").value("admin"))
+                .andExpect(jsonPath("$.data.changes[1].userid").value("user"))
+                .andExpect(jsonPath("$.data.changes[0].deleted").value(false))
+                .andExpect(jsonPath("$.data.hasMore").value(false))
+                .andExpect(jsonPath("$.data.next").exists());
+    }
+
+    @Test
+    void testGetUserChangesFromStart_WithAdminRole() throws Exception {
+        mockMvc.perform(withAdminAuth(get("/api/users/changes").param("limit", "1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.changes.length()").value(1))
+                .andExpect(jsonPath("$.data.changes[0].userid").value("admin"))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+    }
+
+    @Test
+    void testGetUserChangesSinceToken_ShouldReturnUpdatesAndTombstones() throws Exception {
+        String token = nextToken("");
+
+        mockMvc.perform(withUserAuth(get("/api/users/changes").param("since", token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes.length()").value(0));
+
+        mockMvc.perform(withUserAuth(put("/api/users/1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "변경된 관리자"
+                                }
+                                """))
+                .andExpect(status().isOk());
+        mockMvc.perform(withAdminAuth(delete("/api/users/2")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(withUserAuth(get("/api/users/changes").param("since", token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes.length()").value(2))
+                .andExpect(jsonPath("$.data.changes[0].id").value(1))
+                .andExpect(jsonPath("$.data.changes[0].name").value("변경된 관리자"))
+                .andExpect(jsonPath("$.data.changes[0].deleted").value(false))
+                .andExpect(jsonPath("$.data.changes[1].id").value(2))
+                .andExpect(jsonPath("$.data.changes[1].userid").value("user"))
+                .andExpect(jsonPath("$.data.changes[1].deleted").value(true))
+                .andExpect(jsonPath("$.data.changes[1].name").doesNotExist());
+    }
+
+    @Test
+    void testGetUserChangesWithLimit_ShouldPage() throws Exception {
+        String next = mockMvc.perform(withUserAuth(get("/api/users/changes").param("limit", "1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes.length()").value(1))
+                .andExpect(jsonPath("$.data.changes[0].id").value(1))
+                .andExpect(jsonPath("$.data.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(withUserAuth(get("/api/users/changes").param("limit", "1")
+                        .param("since", JsonPath.<String>read(next, "$.data.next"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes.length()").value(1))
+                .andExpect(jsonPath("$.data.changes[0].id").value(2));
+    }
+
+    @Test
+    void testGetUserChanges_ShouldWaitForOlderOpenTransaction() throws Exception {
+        String token = nextToken("");
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        INSERT INTO users (userid, password, name)
+                        VALUES ('slow', '{noop}slow', '느린 사용자')
+                        """);
+            }
+
+            mockMvc.perform(withAdminAuth(post("/api/users"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "userid": "fast",
+                                        "password": "password123",
+                                        "name": "빠른 사용자"
+                                    }
+                                    """))
+                    .andExpect(status().isCreated());
+
+            // "fast" committed first but must not be returned while "slow" can still commit behind it
+            mockMvc.perform(withUserAuth(get("/api/users/changes").param("since", token)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.changes.length()").value(0));
+
+            connection.commit();
+        }
+
+        mockMvc.perform(withUserAuth(get("/api/users/changes").param("since", token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes.length()").value(2))
+                .andExpect(jsonPath("$.data.changes[0].userid").value("slow"))
+                .andExpect(jsonPath("$.data.changes[1].userid").value("fast"));
+    }
+
+    @Test
+    void testGetUserChangesInvalidToken_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/changes").param("since", "abc")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void testGetUserChangesSincePrunedToken_ShouldReturn410() throws Exception {
+        String token = nextToken("");
+
+        mockMvc.perform(withAdminAuth(delete("/api/users/2")))
+                .andExpect(status().isOk());
+        jdbcTemplate.update("INSERT INTO users (userid, password, name) VALUES ('temp', '{noop}temp', '임시')");
+        jdbcTemplate.update("DELETE FROM users WHERE userid = 'temp'");
+        jdbcTemplate.update("UPDATE user_tombstones SET deleted_at = deleted_at - INTERVAL '60 days' WHERE id = 2");
+
+        // The newest tombstone is kept even though it is past retention as well
+        jdbcTemplate.update("UPDATE user_tombstones SET deleted_at = deleted_at - INTERVAL '60 days' WHERE userid = 'temp'");
+        assertEquals(1, userTombstonePruner.prune());
+
+        mockMvc.perform(withAdminAuth(get("/api/users/changes").param("since", token)))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("GONE"));
+
+        String resynced = nextToken("");
+        mockMvc.perform(withUserAuth(get("/api/users/changes").param("since", resynced)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes.length()").value(0));
+    }
+
+    private String nextToken(String since) throws Exception {
+        String body = mockMvc.perform(withUserAuth(get("/api/users/changes").param("since", since)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.data.next");
+    }
+}
@@ -5,9 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @AutoConfigureMockMvc
@@ -16,6 +20,9 @@ public class GetUsersControllerTest extends BaseIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void testGetAllUsers_WithoutAuthentication_ShouldReturn401() throws Exception {
         mockMvc.perform(get("/api/users"))
@@ -45,4 +52,113 @@ public class GetUsersControllerTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.data.size").isNumber())
                 .andExpect(jsonPath("$.data.totalElements").isNumber());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllUsersInvalidSort_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users").param("sortBy", "password")))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void testGetAllUsersWithFields_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users").param("fields", "id,userid")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.content[0].userid").value("admin"))
+                .andExpect(jsonPath("$.data.content[0].name").doesNotExist())
+                .andExpect(jsonPath("$.data.content[0].createdAt").doesNotExist());
+    }
+
+    @Test
+    void testGetAllUsersInvalidField_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users").param("fields", "password")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void testGetAllUsersETag_ShouldChangeAfterWrite() throws Exception {
+        String before = mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(withUserAuth(put("/api/users/2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "Renamed For ETag"
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        String after = mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[1].name").value("Renamed For ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void testGetAllUsersIfNoneMatch_ShouldReturn304UntilChanged() throws Exception {
+        String etag = mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(withUserAuth(get("/api/users")).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(withUserAuth(put("/api/users/2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "Renamed For ETag"
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(withUserAuth(get("/api/users")).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[1].name").value("Renamed For ETag"));
+    }
+
+    @Test
+    void testGetAllUsersIfNoneMatch_ShouldReturn200AfterWriteOutsideApi() throws Exception {
+        String etag = mockMvc.perform(withAdminAuth(get("/api/users")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String again = mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals(etag, again);
+
+        jdbcTemplate.update("UPDATE users SET name = 'Changed Outside Api' WHERE id = 2");
+
+        mockMvc.perform(withAdminAuth(get("/api/users")).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.data.content[1].name").value("Changed Outside Api"));
+    }
+
+    @Test
+    void testGetAllUsersIfNoneMatchWithInvalidParams_ShouldReturn400() throws Exception {
+        String etag = mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(withUserAuth(get("/api/users").param("sortBy", "password")).header("If-None-Match", etag))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+        mockMvc.perform(withUserAuth(get("/api/users").param("fields", "password")).header("If-None-Match", etag))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(withAdminAuth(get("/api/users").param("size", "0")).header("If-None-Match", etag))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,109 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+public class GetUsersExportControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void initInsert() throws SQLException {
+        insertTestData("""
+            INSERT INTO users (userid, password, name, created_at, updated_at)
+            VALUES ('export1', '{noop}password', 'Kim, "Export"', now(), now()),
+                   ('export2', '{noop}password', '=HYPERLINK("http://evil")', now(), now());
+            """);
+    }
+
+    @Test
+    void testExportUsers_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/users/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testExportUsers_WithUserRole() throws Exception {
+        MvcResult result = mockMvc.perform(withUserAuth(get("/api/users/export")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(4, lines.length);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{\"id\":"), line);
+        }
+        assertTrue(lines[0].startsWith("{\"id\":1,\"userid\":\"admin\""));
+        assertEquals("{\"id\":4,\"userid\":\"export2\",\"name\":\"=HYPERLINK(\\\"http://evil\\\")\","
+                + "\"createdAt\":\"" + createdAt("export2") + "\",\"updatedAt\":\"" + updatedAt("export2") + "\"}", lines[3]);
+        assertFalse(body.contains("password"));
+    }
+
+    @Test
+    void testExportUsersCsv_WithAdminRole() throws Exception {
+        MvcResult result = mockMvc.perform(withAdminAuth(get("/api/users/export").param("format", "csv")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(5, lines.length);
+        assertEquals("id,userid,name,createdAt,updatedAt", lines[0]);
+        assertTrue(lines[1].startsWith("1,admin,"));
+        assertTrue(lines[3].startsWith("3,export1,\"Kim, \"\"Export\"\"\","));
+        assertEquals("4,export2,\"'=HYPERLINK(\"\"http://evil\"\")\","
+                + createdAt("export2") + "," + updatedAt("export2"), lines[4]);
+    }
+
+    private String createdAt(String userid) {
+        return timestamp("created_at", userid);
+    }
+
+    private String updatedAt(String userid) {
+        return timestamp("updated_at", userid);
+    }
+
+    private String timestamp(String column, String userid) {
+        Timestamp value = jdbcTemplate.queryForObject(
+                "SELECT " + column + " FROM users WHERE userid = ?", Timestamp.class, userid);
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value.toLocalDateTime());
+    }
+
+    @Test
+    void testExportUsersInvalidFormat_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/export").param("format", "xml")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "user.stream.max-subscribers=" + GetUsersStreamControllerTest.MAX_SUBSCRIBERS)
+public class GetUsersStreamControllerTest extends BaseIntegrationTest {
+
+    static final int MAX_SUBSCRIBERS = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserEventBroadcaster userEventBroadcaster;
+
+    @Test
+    void testStreamUsers_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/users/stream"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testStreamUsers_ShouldPushCommittedUpdate() throws Exception {
+        int before = userEventBroadcaster.subscriberCount();
+        MvcResult stream = mockMvc.perform(withUserAuth(get("/api/users/stream")).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        try {
+            awaitContent(stream, "event:ready");
+            assertEquals(before + 1, userEventBroadcaster.subscriberCount());
+
+            mockMvc.perform(withUserAuth(put("/api/users/2"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "name": "Streamed Name"
+                                    }
+                                    """))
+                    .andExpect(status().isOk());
+
+            awaitContent(stream, "event:updated\ndata:{\"ids\":[2]}");
+        } finally {
+            stream.getRequest().getAsyncContext().complete();
+        }
+        assertEquals(before, userEventBroadcaster.subscriberCount());
+    }
+
+    @Test
+    void testStreamUsersReconnect_ShouldStartWithResync() throws Exception {
+        MvcResult stream = mockMvc.perform(withUserAuth(get("/api/users/stream"))
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "42"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        try {
+            awaitContent(stream, "event:resync");
+            assertFalse(stream.getResponse().getContentAsString().contains("event:ready"));
+        } finally {
+            stream.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    void testStreamUsers_WithAdminRole() throws Exception {
+        MvcResult stream = mockMvc.perform(withAdminAuth(get("/api/users/stream")).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn();
+        try {
+            awaitContent(stream, "event:ready");
+        } finally {
+            stream.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    /**
+     * Subscribes from several threads at once; the cap must hold however they interleave.
+     */
+    @Test
+    void testStreamUsersOverLimit_ShouldReturn503() throws Exception {
+        int attempts = MAX_SUBSCRIBERS * 4;
+        CountDownLatch start = new CountDownLatch(1);
+        List<MvcResult> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(attempts)) {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(withUserAuth(get("/api/users/stream")).accept(MediaType.TEXT_EVENT_STREAM))
+                            .andReturn();
+                }));
+            }
+            start.countDown();
+            for (Future<MvcResult> future : futures) {
+                results.add(future.get());
+            }
+        }
+        try {
+            long rejected = results.stream().filter(result -> result.getResponse().getStatus() == 503).count();
+            long started = results.stream().filter(result -> result.getRequest().isAsyncStarted()).count();
+            assertEquals(MAX_SUBSCRIBERS, started);
+            assertEquals(attempts - MAX_SUBSCRIBERS, rejected);
+            assertEquals(MAX_SUBSCRIBERS, userEventBroadcaster.subscriberCount());
+        } finally {
+            for (MvcResult result : results) {
+                if (result.getRequest().isAsyncStarted()) {
+                    result.getRequest().getAsyncContext().complete();
+                }
+            }
+        }
+        assertEquals(0, userEventBroadcaster.subscriberCount());
+
+        MvcResult stream = mockMvc.perform(withUserAuth(get("/api/users/stream")).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    private void awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!stream.getResponse().getContentAsString().contains(expected)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Stream did not contain \"" + expected + "\": "
+                        + stream.getResponse().getContentAsString());
+            }
+            Thread.sleep(20);
+        }
+    }
+}
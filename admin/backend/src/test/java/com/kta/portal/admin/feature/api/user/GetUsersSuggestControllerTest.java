@@ -0,0 +1,118 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+public class GetUsersSuggestControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void initInsert() throws SQLException {
+        insertTestData("""
+            INSERT INTO users (userid, password, name, created_at, updated_at)
+            VALUES ('suggest1', '{noop}password', '추천 사용자', now(), now());
+            """);
+        userDirectory.reload();
+    }
+
+    @Test
+    void testSuggestUsers_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/users/suggest").param("q", "adm"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testSuggestUsers_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/suggest").param("q", "ADM")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].userid").value("admin"));
+    }
+
+    @Test
+    void testSuggestUsers_WithAdminRole() throws Exception {
+        mockMvc.perform(withAdminAuth(get("/api/users/suggest").param("q", "추천")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].userid").value("suggest1"));
+    }
+
+    @Test
+    void testSuggestUsersNoMatch_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/suggest").param("q", "nobody")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    @Test
+    void testSuggestUsers_AfterCreate_ShouldIncludeNewUser() throws Exception {
+        mockMvc.perform(withAdminAuth(post("/api/users"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "userid": "suggest2",
+                                    "password": "password123",
+                                    "name": "Suggest User 2"
+                                }
+                                """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(withUserAuth(get("/api/users/suggest").param("q", "suggest")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].userid").value("suggest1"))
+                .andExpect(jsonPath("$.data[1].userid").value("suggest2"));
+    }
+
+    @Test
+    void testSuggestUsers_ChangeDuringReload_ShouldSurviveSwap() {
+        // A change is committed and applied after the reload has scanned the table but
+        // before its snapshot replaces the current one.
+        AtomicReference<UserDirectory> directory = new AtomicReference<>();
+        JdbcTemplate scanThenChange = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch) {
+                super.query(sql, rch);
+                update("UPDATE users SET name = '변경된 이름' WHERE userid = 'suggest1'");
+                directory.get().refresh(List.of(queryForObject("SELECT id FROM users WHERE userid = 'suggest1'", Long.class)));
+            }
+        };
+        directory.set(new UserDirectory(scanThenChange));
+
+        directory.get().reload();
+
+        List<UserDirectory.Entry> result = directory.get().suggest("suggest1", 5);
+        assertEquals(1, result.size());
+        assertEquals("변경된 이름", result.get(0).name());
+    }
+}
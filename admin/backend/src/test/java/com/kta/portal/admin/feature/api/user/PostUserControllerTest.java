@@ -1,21 +1,37 @@
 package com.kta.portal.admin.feature.api.user;
 
 import com.kta.portal.admin.BaseIntegrationTest;
+import com.kta.portal.admin.support.StatementRecorder;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @AutoConfigureMockMvc
+@Import(StatementRecorder.class)
 public class PostUserControllerTest extends BaseIntegrationTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void testCreateUser_WithoutAuthentication_ShouldReturn401() throws Exception {
         String createUserJson = """
@@ -69,4 +85,93 @@ public class PostUserControllerTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.userid").value("testuser2"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateUserDuplicateUserid_ShouldReturn409() throws Exception {
+        mockMvc.perform(withAdminAuth(post("/api/users"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "userid": "admin",
+                                    "password": "password123",
+                                    "name": "Another Admin"
+                                }
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("CONFLICT"));
+    }
+
+    /**
+     * The create is a single {@code INSERT ... ON CONFLICT DO NOTHING RETURNING}; there is
+     * no separate lookup of the userid before it.
+     */
+    @Test
+    void testCreateUser_ShouldIssueOneInsertAndNoUseridLookup() throws Exception {
+        List<String> statements = StatementRecorder.record(() ->
+                mockMvc.perform(withAdminAuth(post("/api/users"))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "userid": "single1",
+                                            "password": "password123",
+                                            "name": "Single Statement"
+                                        }
+                                        """))
+                        .andExpect(status().isCreated()));
+
+        List<String> inserts = statements.stream()
+                .filter(sql -> sql.strip().toUpperCase().startsWith("INSERT INTO USERS"))
+                .toList();
+        List<String> useridLookups = statements.stream()
+                .filter(sql -> sql.matches("(?is)\\s*SELECT\\b.*\\bFROM\\s+\"?users\"?\\b.*\\bWHERE\\b.*\\buserid\\b.*"))
+                .toList();
+        assertEquals(1, inserts.size(), statements.toString());
+        assertTrue(inserts.getFirst().contains("ON CONFLICT (userid) DO NOTHING"), inserts.getFirst());
+        assertEquals(List.of(), useridLookups);
+    }
+
+    @Test
+    void testCreateUserConcurrently_ShouldCreateOnceWithoutServerErrors() throws Exception {
+        int requests = 16;
+        String createUserJson = """
+                {
+                    "userid": "concurrent1",
+                    "password": "password123",
+                    "name": "Concurrent User"
+                }
+                """;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(withAdminAuth(post("/api/users"))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(createUserJson))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            int conflicts = 0;
+            for (Future<Integer> status : statuses) {
+                int code = status.get();
+                if (code == 201) {
+                    created++;
+                } else if (code == 409) {
+                    conflicts++;
+                }
+            }
+            assertEquals(1, created);
+            assertEquals(requests - 1, conflicts);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE userid = 'concurrent1'", Integer.class));
+    }
+}
@@ -0,0 +1,154 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+public class PostUsersBulkDeleteControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testBulkDeleteUsers_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(post("/api/users/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "ids": [2] }
+                                """))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testBulkDeleteUsersByIds_WithUserRole() throws Exception {
+        insertTestData("""
+            INSERT INTO refresh_tokens (user_id, token, expires_at)
+            VALUES (2, 'bulk-delete-token', now() + interval '1 day');
+            """);
+
+        mockMvc.perform(withUserAuth(post("/api/users/bulk-delete"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "ids": [2, 999999] }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.deleted").value(1))
+                .andExpect(jsonPath("$.data.chunks").value(1))
+                .andExpect(jsonPath("$.data.notFoundIds[0]").value(999999));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM refresh_tokens WHERE user_id = 2", Integer.class));
+    }
+
+    @Test
+    void testBulkDeleteUsersByUseridPrefix_WithAdminRole() throws Exception {
+        insertTestData("""
+            INSERT INTO users (userid, password, name, created_at, updated_at)
+            SELECT 'bulk' || g, '{noop}password', 'Bulk ' || g, now(), now()
+            FROM generate_series(1, 2500) AS g;
+            INSERT INTO users (userid, password, name, created_at, updated_at)
+            VALUES ('other1', '{noop}password', 'Other User', now(), now());
+            """);
+
+        mockMvc.perform(withAdminAuth(post("/api/users/bulk-delete"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "useridPrefix": "bulk" }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deleted").value(2500))
+                .andExpect(jsonPath("$.data.chunks").value(3));
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT count(*) FROM users", Integer.class));
+    }
+
+    @Test
+    void testBulkDeleteUsersWithoutCriteria_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(post("/api/users/bulk-delete"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "useridPrefix": " " }
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void testBulkDeleteUsersShortPrefix_WithUserRole_ShouldRequireConfirm() throws Exception {
+        mockMvc.perform(withUserAuth(post("/api/users/bulk-delete"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "useridPrefix": "u" }
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM users", Integer.class));
+
+        mockMvc.perform(withUserAuth(post("/api/users/bulk-delete"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "useridPrefix": "u", "confirm": true }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deleted").value(1));
+    }
+
+    @Test
+    void testBulkDeleteUsersWithProgress_WithAdminRole() throws Exception {
+        insertTestData("""
+            INSERT INTO users (userid, password, name, created_at, updated_at)
+            SELECT 'bulk' || g, '{noop}password', 'Bulk ' || g, now(), now()
+            FROM generate_series(1, 2500) AS g;
+            """);
+
+        MvcResult stream = mockMvc.perform(withAdminAuth(post("/api/users/bulk-delete"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept("application/x-ndjson")
+                        .content("""
+                                { "useridPrefix": "bulk" }
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(4, lines.length);
+        assertEquals("{\"progress\":{\"chunk\":1,\"processed\":1000}}", lines[0]);
+        assertEquals("{\"progress\":{\"chunk\":3,\"processed\":2500}}", lines[2]);
+        assertTrue(lines[3].startsWith("{\"success\":true"));
+        assertTrue(lines[3].contains("\"deleted\":2500"));
+    }
+
+    @Test
+    void testBulkDeleteUsersWithProgressWithoutCriteria_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(post("/api/users/bulk-delete"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept("application/x-ndjson", MediaType.APPLICATION_JSON_VALUE)
+                        .content("""
+                                { "useridPrefix": "" , "ids": [] }
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,118 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+public class PostUsersBulkUpdateControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testBulkUpdateUsers_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(post("/api/users/bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "users": [ { "id": 2, "name": "Renamed" } ] }
+                                """))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testBulkUpdateUsers_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(post("/api/users/bulk-update"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "users": [
+                                        { "id": 1, "name": "Renamed Admin" },
+                                        { "id": 2, "name": "Renamed User" }
+                                    ]
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.requested").value(2))
+                .andExpect(jsonPath("$.data.updated").value(2))
+                .andExpect(jsonPath("$.data.chunks").value(1))
+                .andExpect(jsonPath("$.data.notFoundIds.length()").value(0));
+
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Renamed User"));
+    }
+
+    @Test
+    void testBulkUpdateUsersManyChunks_WithAdminRole() throws Exception {
+        insertTestData("""
+            INSERT INTO users (userid, password, name, created_at, updated_at)
+            SELECT 'bulk' || g, '{noop}password', 'Bulk ' || g, now(), now()
+            FROM generate_series(1, 2500) AS g;
+            """);
+        StringBuilder users = new StringBuilder();
+        for (long id = 3; id <= 2502; id++) {
+            users.append(users.isEmpty() ? "" : ",").append("{\"id\":").append(id).append(",\"name\":\"Renamed ").append(id).append("\"}");
+        }
+        users.append(",{\"id\":999999,\"name\":\"Nobody\"}");
+
+        mockMvc.perform(withAdminAuth(post("/api/users/bulk-update"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"users\":[" + users + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.requested").value(2501))
+                .andExpect(jsonPath("$.data.updated").value(2500))
+                .andExpect(jsonPath("$.data.chunks").value(3))
+                .andExpect(jsonPath("$.data.notFoundIds[0]").value(999999));
+
+        mockMvc.perform(withAdminAuth(get("/api/users/2502")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Renamed 2502"));
+    }
+
+    @Test
+    void testBulkUpdateUsersDuplicateId_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(post("/api/users/bulk-update"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "users": [ { "id": 2, "name": "A" }, { "id": 2, "name": "B" } ] }
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void testBulkUpdateUsersWithProgress_WithAdminRole() throws Exception {
+        MvcResult stream = mockMvc.perform(withAdminAuth(post("/api/users/bulk-update"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept("application/x-ndjson")
+                        .content("""
+                                { "users": [ { "id": 2, "name": "Renamed User" }, { "id": 999999, "name": "Nobody" } ] }
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals("{\"progress\":{\"chunk\":1,\"chunks\":1,\"processed\":1,\"total\":2}}", lines[0]);
+        assertTrue(lines[1].contains("\"notFoundIds\":[999999]"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+public class PostUsersImportControllerTest extends BaseIntegrationTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String BCRYPT_HASH = "{bcrypt}$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testImportUsers_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .contentType(TEXT_CSV)
+                        .content("userid,password,name\nimport1,password123,Import User\n"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testImportUsersCsv_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(post("/api/users/import"))
+                        .contentType(TEXT_CSV)
+                        .content("""
+                                name,userid,password
+                                "Kim, Import",import1,password123
+                                Duplicate Admin,admin,password123
+                                Missing Password,import2,
+                                "Second
+                                Line",import3,password123
+                                Import Again,import1,password123
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.total").value(5))
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.skipped").value(2))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.results[0].line").value(2))
+                .andExpect(jsonPath("$.data.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.data.results[0].id").exists())
+                .andExpect(jsonPath("$.data.results[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.data.results[2].status").value("INVALID"))
+                .andExpect(jsonPath("$.data.results[3].line").value(5))
+                .andExpect(jsonPath("$.data.results[3].userid").value("import3"))
+                .andExpect(jsonPath("$.data.results[4].status").value("DUPLICATE"));
+
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "userid": "import1",
+                                    "password": "password123"
+                                }
+                                """))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testImportUsersNdjson_WithAdminRole() throws Exception {
+        mockMvc.perform(withAdminAuth(post("/api/users/import"))
+                        .contentType(APPLICATION_NDJSON)
+                        .content("""
+                                {"userid":"import1","password":"%s","name":"Import User"}
+                                {"userid":
+                                {"userid":"import2","password":"password123","name":"Import User 2"}
+                                """.formatted(BCRYPT_HASH)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.results[1].line").value(2))
+                .andExpect(jsonPath("$.data.results[1].message").value("Malformed JSON"));
+
+        // A hash-shaped password is plain text like any other: it is hashed, not stored as the hash.
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "userid": "import1",
+                                    "password": "%s"
+                                }
+                                """.formatted(BCRYPT_HASH)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testImportUsersMissingHeader_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(post("/api/users/import"))
+                        .contentType(TEXT_CSV)
+                        .content("userid,name\nimport1,Import User\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("BAD_REQUEST"));
+    }
+
+    /**
+     * Every row has a plain text password, so this covers the parallel hashing as well as
+     * parsing and insert. The test profile lowers bcrypt to cost 4; at the production cost
+     * of 10 each hash is 64 times slower and hashing alone takes minutes of CPU.
+     */
+    @Test
+    void testImport100kUsers_WithAdminRole_ShouldFinishWithinOneMinute() throws Exception {
+        int count = 100_000;
+        StringBuilder csv = new StringBuilder("userid,password,name\n");
+        for (int i = 0; i < count; i++) {
+            csv.append("bulk").append(i).append(",password").append(i).append(",Bulk User ").append(i).append('\n');
+        }
+
+        long started = System.nanoTime();
+        mockMvc.perform(withAdminAuth(post("/api/users/import"))
+                        .contentType(TEXT_CSV)
+                        .content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(count));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMillis < 60_000, "100k import took " + elapsedMillis + " ms");
+
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "userid": "bulk54321",
+                                    "password": "password54321"
+                                }
+                                """))
+                .andExpect(status().isOk());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -63,4 +64,68 @@ public class PutUserControllerTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.name").value("Updated Admin Name"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateUserWithCurrentETag_WithUserRole() throws Exception {
+        String etag = mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(withUserAuth(put("/api/users/2"))
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "Conditional Name"
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.data.name").value("Conditional Name"));
+    }
+
+    @Test
+    void testUpdateUserWithStaleETag_ShouldReturn412() throws Exception {
+        String etag = mockMvc.perform(withAdminAuth(get("/api/users/2")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(withAdminAuth(put("/api/users/2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "First Writer"
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(withAdminAuth(put("/api/users/2"))
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "Second Writer"
+                                }
+                                """))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errors[0].code").value("PRECONDITION_FAILED"));
+
+        mockMvc.perform(withAdminAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("First Writer"));
+    }
+
+    @Test
+    void testUpdateUserNotFound_WithUserRole() throws Exception {
+        mockMvc.perform(withUserAuth(put("/api/users/999"))
+                        .header("If-Match", "\"999-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "Nobody"
+                                }
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].code").value("NOT_FOUND"));
+    }
+}
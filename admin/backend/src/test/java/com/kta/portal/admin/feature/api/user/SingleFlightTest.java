@@ -0,0 +1,148 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testConcurrentCallers_ShouldShareOneLoad() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("user", Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = runConcurrently(singleFlight, release, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "row";
+        });
+
+        for (Future<String> result : results) {
+            assertEquals("row", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, coalesced());
+    }
+
+    @Test
+    void testLoaderFailure_ShouldPropagateToWaitingCallers() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("user", Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        List<Future<String>> results = runConcurrently(singleFlight, release, () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        });
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testSlowLeader_ShouldLetCallerLoadAfterMaxWait() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("user", Duration.ofMillis(50), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch leading = new CountDownLatch(1);
+            Future<String> leader = executor.submit(() -> singleFlight.get("key", () -> {
+                leading.countDown();
+                await(release);
+                return "slow";
+            }));
+            leading.await();
+
+            assertEquals("own", singleFlight.get("key", () -> "own"));
+
+            release.countDown();
+            assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, coalesced());
+    }
+
+    @Test
+    void testLeaderDeadlineExceeded_ShouldMakeWaitingCallerRetry() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("user", Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch leading = new CountDownLatch(1);
+            Future<String> leader = executor.submit(() -> singleFlight.get("key", () -> {
+                leading.countDown();
+                await(release);
+                throw new DeadlineExceededException("Request deadline of 1 ms exceeded");
+            }));
+            leading.await();
+
+            Future<String> follower = executor.submit(() -> singleFlight.get("key", () -> "retried"));
+            Thread.sleep(100);
+            release.countDown();
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(DeadlineExceededException.class, e.getCause());
+            assertEquals("retried", follower.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Starts every caller, gives them time to reach the flight and then lets the loader finish.
+     */
+    private static List<Future<String>> runConcurrently(SingleFlight<String, String> singleFlight,
+                                                        CountDownLatch release,
+                                                        Supplier<String> loader) throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch started = new CountDownLatch(CALLERS);
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    return singleFlight.get("key", loader);
+                }));
+            }
+            started.await();
+            Thread.sleep(200);
+            release.countDown();
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("user.reads.coalesced").tag("query", "user").counter().count();
+    }
+}
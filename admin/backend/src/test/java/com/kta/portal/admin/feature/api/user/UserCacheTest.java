@@ -0,0 +1,142 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "user.cache.enabled=true",
+        "user.page-cache.enabled=true"
+})
+public class UserCacheTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserPageCache userPageCache;
+
+    @BeforeEach
+    void clearCache() {
+        userCache.invalidateAll();
+        userPageCache.invalidateAll();
+    }
+
+    @Test
+    void testGetUser_ShouldBeServedFromCacheUntilUpdated() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("사용자"));
+
+        // Bypasses the write services, so the cached row is not evicted
+        jdbcTemplate.update("UPDATE users SET name = 'Changed Behind Cache' WHERE id = 2");
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("사용자"));
+
+        mockMvc.perform(withUserAuth(put("/api/users/2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "Updated Through Api"
+                                }
+                                """))
+                .andExpect(status().isOk());
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("Updated Through Api"));
+    }
+
+    @Test
+    void testGetUser_RolledBackChangeShouldNotEvict() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("사용자"));
+
+        // Changed behind the cache, so a re-read after an eviction would see this name
+        jdbcTemplate.update("UPDATE users SET name = 'Changed Behind Cache' WHERE id = 2");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE users SET name = 'Rolled Back' WHERE id = 2");
+            eventPublisher.publishEvent(UserChangedEvent.updated(2L));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(userCache.getIfPresent(2L).isPresent());
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("사용자"));
+    }
+
+    @Test
+    void testGetUsersByIds_ShouldUseCachedRowsAndFields() throws Exception {
+        mockMvc.perform(withAdminAuth(get("/api/users/1")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(withAdminAuth(get("/api/users").param("ids", "1,2,999").param("fields", "userid")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].user.userid").value("admin"))
+                .andExpect(jsonPath("$.data[0].user.name").doesNotExist())
+                .andExpect(jsonPath("$.data[1].user.userid").value("user"))
+                .andExpect(jsonPath("$.data[2].found").value(false));
+    }
+
+    @Test
+    void testCacheMetrics_ShouldRecordHits() throws Exception {
+        double hitsBefore = meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit").functionCounter().count();
+
+        mockMvc.perform(withUserAuth(get("/api/users/1")));
+        mockMvc.perform(withUserAuth(get("/api/users/1")));
+
+        double hitsAfter = meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit").functionCounter().count();
+        assertTrue(hitsAfter >= hitsBefore + 1);
+    }
+
+    @Test
+    void testGetUsersPage_ShouldBeServedFromCacheUntilDataVersionChanges() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(jsonPath("$.data.content[1].name").value("사용자"));
+
+        double hitsBefore = meterRegistry.get("cache.gets").tag("cache", "user-pages").tag("result", "hit").functionCounter().count();
+        mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(jsonPath("$.data.content[1].name").value("사용자"));
+        double hitsAfter = meterRegistry.get("cache.gets").tag("cache", "user-pages").tag("result", "hit").functionCounter().count();
+        assertTrue(hitsAfter >= hitsBefore + 1);
+
+        // The version comes from the database, so a write that bypasses the services moves it too
+        jdbcTemplate.update("UPDATE users SET name = 'Changed Behind Cache' WHERE id = 2");
+        mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(jsonPath("$.data.content[1].name").value("Changed Behind Cache"));
+
+        jdbcTemplate.update("INSERT INTO users (userid, password, name) VALUES ('outside', 'x', 'Inserted Behind Cache')");
+        mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(jsonPath("$.data.totalElements").value(3));
+    }
+}
@@ -0,0 +1,96 @@
+package com.kta.portal.admin.feature.api.user;
+
+import com.jayway.jsonpath.JsonPath;
+import com.kta.portal.admin.BaseIntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "user.cache.enabled=true",
+        "user.invalidation.transport=postgres"
+})
+public class UserInvalidationBusTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void clearCache() {
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void testRemoteInvalidation_ShouldEvictListedUsers() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("사용자"));
+
+        // Simulates a write committed on another instance
+        jdbcTemplate.update("UPDATE users SET name = 'Changed On Other Node' WHERE id = 2");
+        notify("othernode:1,2");
+
+        assertEquals("Changed On Other Node", awaitName(2, "Changed On Other Node"));
+    }
+
+    @Test
+    void testRemoteResyncRequest_ShouldDropWholeCache() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/1")))
+                .andExpect(jsonPath("$.data.name").value("관리자"));
+
+        jdbcTemplate.update("UPDATE users SET name = 'Resynced' WHERE id = 1");
+        notify("othernode:*");
+
+        assertEquals("Resynced", awaitName(1, "Resynced"));
+    }
+
+    @Test
+    void testListenConnection_ShouldNotHoldPoolConnection() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("사용자"));
+        jdbcTemplate.update("UPDATE users SET name = 'Still Listening' WHERE id = 2");
+        notify("othernode:2");
+        assertEquals("Still Listening", awaitName(2, "Still Listening"));
+
+        assertEquals(0, dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections());
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, UserInvalidationBus.CHANNEL, payload);
+    }
+
+    private String awaitName(long id, String expected) throws Exception {
+        String name = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            String body = mockMvc.perform(withUserAuth(get("/api/users/" + id).param("fields", "name")))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            name = JsonPath.read(body, "$.data.name");
+            if (expected.equals(name)) {
+                return name;
+            }
+            Thread.sleep(100);
+        }
+        return name;
+    }
+}
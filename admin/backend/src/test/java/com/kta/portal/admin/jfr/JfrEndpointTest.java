@@ -0,0 +1,136 @@
+package com.kta.portal.admin.jfr;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "jfr.enabled=true",
+        "jfr.threshold.jwt=0ms",
+        "jfr.threshold.password=0ms",
+        "jfr.threshold.dao=0ms",
+        "jfr.threshold.security-filter=0ms",
+        "management.endpoints.web.exposure.include=jfr"
+})
+public class JfrEndpointTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JfrRecorder jfrRecorder;
+
+    @AfterEach
+    void stopRecording() {
+        jfrRecorder.stop();
+    }
+
+    @Test
+    void testJfrEndpoint_WithoutAuthentication_ShouldReturn401() throws Exception {
+        mockMvc.perform(post("/actuator/jfr"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testJfrEndpoint_WithUserRole_ShouldReturn403() throws Exception {
+        mockMvc.perform(withUserAuth(post("/actuator/jfr"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(withUserAuth(get("/actuator/jfr/recording")))
+                .andExpect(status().isForbidden());
+        assertEquals("NONE", jfrRecorder.status().state());
+    }
+
+    @Test
+    void testRecording_ShouldCaptureApplicationEvents() throws Exception {
+        mockMvc.perform(withAdminAuth(post("/actuator/jfr"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "duration": "1m"
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+        mockMvc.perform(withAdminAuth(post("/actuator/jfr"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "userid": "admin",
+                                    "password": "admin"
+                                }
+                                """))
+                .andExpect(status().isOk());
+        mockMvc.perform(withAdminAuth(get("/api/users/1")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(withAdminAuth(delete("/actuator/jfr")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+
+        byte[] recording = mockMvc.perform(withAdminAuth(get("/actuator/jfr/recording")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        Path file = Files.createTempFile("jfr-endpoint-test", ".jfr");
+        try {
+            Files.write(file, recording);
+            List<RecordedEvent> all = RecordingFile.readAllEvents(file);
+            for (String sensitive : JfrRecorder.SENSITIVE_EVENTS) {
+                assertTrue(all.stream().noneMatch(event -> sensitive.equals(event.getEventType().getName())),
+                        sensitive + " must not be recorded");
+            }
+            Map<String, List<RecordedEvent>> events = all.stream()
+                    .filter(event -> event.getEventType().getName().startsWith("com.kta.portal."))
+                    .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+
+            RecordedEvent password = events.get("com.kta.portal.PasswordEncoder").getFirst();
+            assertEquals("matches", password.getString("operation"));
+            assertEquals("noop", password.getString("algorithm"));
+            assertEquals(-1, password.getInt("cost"));
+
+            assertTrue(events.get("com.kta.portal.DaoQuery").stream()
+                    .anyMatch(event -> "GetUserDao.findRowById".equals(event.getString("statement"))
+                            && event.getLong("rows") == 1));
+            assertTrue(events.get("com.kta.portal.JwtToken").stream()
+                    .anyMatch(event -> "sign".equals(event.getString("operation"))));
+            assertTrue(events.get("com.kta.portal.SecurityFilter").stream()
+                    .anyMatch(event -> "jwt".equals(event.getString("outcome"))
+                            && "/api/users/1".equals(event.getString("path"))));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testStop_WithoutRecording_ShouldReturn409() throws Exception {
+        mockMvc.perform(withAdminAuth(delete("/actuator/jfr")))
+                .andExpect(status().isConflict());
+    }
+}
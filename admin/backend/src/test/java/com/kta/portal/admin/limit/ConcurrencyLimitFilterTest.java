@@ -0,0 +1,181 @@
+package com.kta.portal.admin.limit;
+
+import com.jayway.jsonpath.JsonPath;
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "concurrency-limit.enabled=true",
+        "concurrency-limit.user-writes.initial=" + ConcurrencyLimitFilterTest.WRITE_LIMIT,
+        "concurrency-limit.user-writes.min=1",
+        "concurrency-limit.user-reads.min=" + ConcurrencyLimitFilterTest.READ_CLIENTS
+})
+public class ConcurrencyLimitFilterTest extends BaseIntegrationTest {
+
+    static final int WRITE_LIMIT = 2;
+    private static final int WRITES = 6;
+    private static final int READS = 200;
+    static final int READ_CLIENTS = 8;
+    private static final long READ_P99_BOUND_MILLIS = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
+    /**
+     * A row lock holds the admitted writes inside the database, so exactly
+     * {@code WRITE_LIMIT} are in flight and every other write is rejected; the limit
+     * cannot adapt meanwhile because it only moves when a request completes. While the
+     * writes are stuck, {@code READS} reads from {@code READ_CLIENTS} clients must all
+     * succeed with a p99 under {@code READ_P99_BOUND_MILLIS}.
+     */
+    @Test
+    void testWritesOverLimit_ShouldReturn503WithoutBlockingReads() throws Exception {
+        AdaptiveConcurrencyLimiter writes = concurrencyLimitFilter.limiter(EndpointGroup.USER_WRITES);
+        AdaptiveConcurrencyLimiter reads = concurrencyLimitFilter.limiter(EndpointGroup.USER_READS);
+        long rejectedBefore = writes.getRejected();
+        long readsRejectedBefore = reads.getRejected();
+        List<MvcResult> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITES)) {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            try (Connection lock = dataSource.getConnection()) {
+                lock.setAutoCommit(false);
+                try (Statement statement = lock.createStatement()) {
+                    statement.execute("SELECT id FROM users WHERE id = 2 FOR UPDATE");
+                }
+                for (int i = 0; i < WRITES; i++) {
+                    String name = "Concurrent Write " + i;
+                    futures.add(executor.submit(() -> mockMvc.perform(withUserAuth(put("/api/users/2"))
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("""
+                                            {
+                                                "name": "%s"
+                                            }
+                                            """.formatted(name)))
+                            .andReturn()));
+                }
+                await(() -> writes.getInFlight() == WRITE_LIMIT
+                        && writes.getRejected() - rejectedBefore == WRITES - WRITE_LIMIT);
+
+                List<Long> readNanos = readUsers();
+                lock.rollback();
+                long p99 = readNanos.get((int) Math.ceil(readNanos.size() * 0.99) - 1);
+                assertTrue(p99 < TimeUnit.MILLISECONDS.toNanos(READ_P99_BOUND_MILLIS),
+                        "read p99 " + TimeUnit.NANOSECONDS.toMillis(p99) + " ms during write overload");
+            }
+            for (Future<MvcResult> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        int succeeded = 0;
+        for (MvcResult result : results) {
+            if (result.getResponse().getStatus() == 200) {
+                succeeded++;
+            } else {
+                assertEquals(503, result.getResponse().getStatus());
+                assertEquals("1", result.getResponse().getHeader("Retry-After"));
+                assertEquals("SERVICE_UNAVAILABLE",
+                        JsonPath.read(result.getResponse().getContentAsString(), "$.errors[0].code"));
+            }
+        }
+        assertEquals(WRITE_LIMIT, succeeded);
+        assertEquals(0, writes.getInFlight());
+        assertEquals(readsRejectedBefore, reads.getRejected());
+    }
+
+    @Test
+    void testLimit_ShouldGrowWhileSaturatedWithStableLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 4, 2, 100, 2.0);
+        for (int round = 0; round < 10; round++) {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+            }
+        }
+        assertTrue(limiter.getLimit() > 4, "limit " + limiter.getLimit() + " should grow above 4");
+    }
+
+    @Test
+    void testLimit_ShouldBackOffWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 2, 100, 2.0);
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+        int before = limiter.getLimit();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(50), false);
+        }
+        assertTrue(limiter.getLimit() < before, "limit " + limiter.getLimit() + " should drop below " + before);
+    }
+
+    /**
+     * @return the latency of every read, sorted
+     */
+    private List<Long> readUsers() throws Exception {
+        List<Long> latencies = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(READ_CLIENTS)) {
+            List<Future<Long>> reads = new ArrayList<>();
+            for (int i = 0; i < READS; i++) {
+                reads.add(clients.submit(() -> {
+                    long start = System.nanoTime();
+                    int status = mockMvc.perform(withUserAuth(get("/api/users/1")))
+                            .andReturn().getResponse().getStatus();
+                    long elapsed = System.nanoTime() - start;
+                    assertEquals(200, status);
+                    return elapsed;
+                }));
+            }
+            for (Future<Long> read : reads) {
+                latencies.add(read.get(30, TimeUnit.SECONDS));
+            }
+        }
+        latencies.sort(null);
+        return latencies;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not reached within 5 s");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.kta.portal.admin.metrics;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.dao.invocations=true",
+        "management.metrics.distribution.slo.dao.invocations=5ms,50ms"
+})
+public class OperationMetricsTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testLogin_ShouldTimeEveryLayer() throws Exception {
+        login("admin", "admin");
+
+        assertRecorded("service.invocations", "PostLoginService.login", "success");
+        assertRecorded("dao.invocations", "PostLoginDao.findUserByUserid", "success");
+        assertRecorded("dao.invocations", "RefreshTokenRepository.save", "success");
+        assertRecorded("password.encoder", "matches", "success");
+        assertRecorded("jwt.tokens", "sign", "success");
+    }
+
+    /**
+     * {@code PostLoginDao} delegates to {@code UserAuthDao}; the query is timed once, as
+     * the outer call.
+     */
+    @Test
+    void testLogin_ShouldTimeDelegatingDaoCallOnce() throws Exception {
+        long before = loginLookups();
+        login("admin", "admin");
+
+        assertEquals(before + 1, loginLookups());
+        assertNull(meterRegistry.find("dao.invocations").tag("operation", "UserAuthDao.findCredentialsByUserid").timer());
+    }
+
+    @Test
+    void testLogin_WithWrongPassword_ShouldRecordMismatch() throws Exception {
+        login("admin", "wrong");
+
+        assertRecorded("password.encoder", "matches", "mismatch");
+    }
+
+    @Test
+    void testAuthenticatedRequest_ShouldTimeVerification() throws Exception {
+        mockMvc.perform(withAdminAuth(get("/api/users/1")))
+                .andExpect(status().isOk());
+
+        assertRecorded("jwt.tokens", "verify", "success");
+        assertRecorded("dao.invocations", "GetUserDao.findRowById", "success");
+    }
+
+    @Test
+    void testPrometheusScrape_ShouldExposeHistograms() throws Exception {
+        login("admin", "admin");
+
+        String scrape = mockMvc.perform(withAdminAuth(get("/actuator/prometheus")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("dao_invocations_seconds_bucket{"), "dao histogram missing");
+        assertTrue(scrape.contains("le=\"0.05\""), "SLO bucket missing");
+        assertTrue(scrape.contains("operation=\"PostLoginDao.findUserByUserid\""), "operation tag missing");
+        assertTrue(scrape.contains("password_encoder_seconds_count{"), "password encoder timer missing");
+    }
+
+    private void login(String userid, String password) throws Exception {
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "userid": "%s",
+                                    "password": "%s"
+                                }
+                                """.formatted(userid, password)))
+                .andExpect(status().isOk());
+    }
+
+    private long loginLookups() {
+        Timer timer = meterRegistry.find("dao.invocations").tag("operation", "PostLoginDao.findUserByUserid").timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private void assertRecorded(String name, String operation, String outcome) {
+        Timer timer = meterRegistry.find(name).tag("operation", operation).tag("outcome", outcome).timer();
+        assertNotNull(timer, name + " " + operation + " " + outcome);
+        assertTrue(timer.count() > 0, name + " " + operation + " " + outcome);
+    }
+}
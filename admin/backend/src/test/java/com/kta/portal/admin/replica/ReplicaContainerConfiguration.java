@@ -0,0 +1,30 @@
+package com.kta.portal.admin.replica;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistrar;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * A second, independent PostgreSQL standing in for the replica. It does not replicate:
+ * tests seed it separately, which makes it visible which server answered a read.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class ReplicaContainerConfiguration {
+
+    @Bean
+    PostgreSQLContainer<?> replicaContainer() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+    }
+
+    @Bean
+    DynamicPropertyRegistrar replicaProperties(@Qualifier("replicaContainer") PostgreSQLContainer<?> replicaContainer) {
+        return registry -> {
+            registry.add("replica.datasource.jdbc-url", replicaContainer::getJdbcUrl);
+            registry.add("replica.datasource.username", replicaContainer::getUsername);
+            registry.add("replica.datasource.password", replicaContainer::getPassword);
+        };
+    }
+}
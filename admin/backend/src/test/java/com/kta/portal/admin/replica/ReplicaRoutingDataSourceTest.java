@@ -0,0 +1,178 @@
+package com.kta.portal.admin.replica;
+
+import com.kta.portal.admin.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Import({ReplicaContainerConfiguration.class, ReplicaRoutingDataSourceTest.NameDao.class})
+@TestPropertySource(properties = {
+        "replica.enabled=true",
+        "replica.lag-check-interval=100ms",
+        "replica.read-your-writes-window=2s"
+})
+public class ReplicaRoutingDataSourceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NameDao nameDao;
+
+    /**
+     * Seeds the replica with the same users, renamed so that reads show which server
+     * answered, and waits for a lag check that postdates earlier tests' writes.
+     */
+    @BeforeEach
+    void setUpReplica() throws Exception {
+        try (Connection connection = replicaDataSource.getConnection()) {
+            connection.setReadOnly(false);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/init.sql"));
+            connection.createStatement().execute("UPDATE users SET name = name || ' (replica)'");
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!replicaRouting.isReplicaFresh()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Replica never became fresh");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void testGetUser_ShouldBeServedByReplica() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("사용자 (replica)"));
+    }
+
+    @Test
+    void testGetUsers_ShouldBeServedByReplica() throws Exception {
+        mockMvc.perform(withUserAuth(get("/api/users")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[?(@.id == 2)].name").value("사용자 (replica)"));
+    }
+
+    @Test
+    void testReadOnlyTransaction_ShouldUseReplicaAndReadWriteTransactionPrimary() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        assertEquals("사용자 (replica)", transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM users WHERE id = 2", String.class)));
+
+        transaction.setReadOnly(false);
+        assertEquals("사용자", transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM users WHERE id = 2", String.class)));
+        assertEquals("사용자", jdbcTemplate.queryForObject("SELECT name FROM users WHERE id = 2", String.class));
+    }
+
+    @Test
+    void testReadReplicaDaoInReadWriteTransaction_ShouldReadAndWriteOnPrimary() {
+        assertEquals("사용자 (replica)", nameDao.findName(2L));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertEquals("사용자", transaction.execute(status -> {
+            String name = nameDao.findName(2L);
+            jdbcTemplate.update("UPDATE users SET name = 'Written' WHERE id = 2");
+            return name;
+        }));
+
+        assertEquals("Written", jdbcTemplate.queryForObject("SELECT name FROM users WHERE id = 2", String.class));
+        assertEquals("사용자 (replica)", new JdbcTemplate(replicaDataSource)
+                .queryForObject("SELECT name FROM users WHERE id = 2", String.class));
+    }
+
+    @Test
+    void testPutUser_WriterShouldReadOwnWriteWhileOthersUseReplica() throws Exception {
+        mockMvc.perform(withUserAuth(put("/api/users/2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "name": "Written"
+                                }
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("Written"));
+
+        // once a lag check has passed, only the writer stays on the primary
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!replicaRouting.isReplicaFresh()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Replica never became fresh");
+            }
+            Thread.sleep(20);
+        }
+        mockMvc.perform(withAdminAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("사용자 (replica)"));
+        mockMvc.perform(withUserAuth(get("/api/users/2")))
+                .andExpect(jsonPath("$.data.name").value("Written"));
+    }
+
+    @Test
+    void testLogin_ShouldLookUpUserOnReplica() throws Exception {
+        try (Connection connection = replicaDataSource.getConnection()) {
+            connection.setReadOnly(false);
+            connection.createStatement().execute("UPDATE users SET password = '{noop}replica' WHERE userid = 'user'");
+        }
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "userid": "user",
+                                    "password": "replica"
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
+    @ReadReplica
+    static class NameDao {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        NameDao(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        public String findName(Long id) {
+            return jdbcTemplate.queryForObject("SELECT name FROM users WHERE id = ?", String.class, id);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.kta.portal.admin.replica;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReplicaRoutingTest {
+
+    private final ReplicaRouting routing = new ReplicaRouting(Duration.ofSeconds(1), Duration.ofMillis(100), Duration.ofSeconds(5));
+
+    @Test
+    void testReplica_WithoutLagCheck_ShouldNotBeFresh() {
+        assertFalse(routing.isReplicaFresh());
+    }
+
+    @Test
+    void testReplica_WithinMaxLag_ShouldBeFresh() {
+        routing.recordLag(System.nanoTime(), Duration.ofMillis(200), null);
+        assertTrue(routing.isReplicaFresh());
+    }
+
+    @Test
+    void testReplica_OverMaxLagOrUnknown_ShouldFallBackToPrimary() {
+        routing.recordLag(System.nanoTime(), Duration.ofSeconds(30), null);
+        assertFalse(routing.isReplicaFresh());
+
+        routing.recordLag(System.nanoTime(), null, null);
+        assertFalse(routing.isReplicaFresh());
+    }
+
+    @Test
+    void testReplica_WithOutdatedLagCheck_ShouldFallBackToPrimary() {
+        routing.recordLag(System.nanoTime() - Duration.ofSeconds(1).toNanos(), Duration.ZERO, null);
+        assertFalse(routing.isReplicaFresh());
+    }
+
+    @Test
+    void testReplica_AfterWrite_ShouldWaitForCheckThatCoversIt() {
+        routing.recordLag(System.nanoTime(), Duration.ZERO, null);
+        routing.recordWrite(null);
+        assertFalse(routing.isReplicaFresh());
+
+        routing.recordLag(System.nanoTime(), Duration.ZERO, null);
+        assertTrue(routing.isReplicaFresh());
+    }
+
+    @Test
+    void testReplica_WhenLagReachesBackBeforeWrite_ShouldNotBeFresh() {
+        routing.recordWrite(null);
+        routing.recordLag(System.nanoTime(), Duration.ofMillis(500), null);
+        assertFalse(routing.isReplicaFresh());
+    }
+
+    @Test
+    void testReplica_AfterWrite_ShouldWaitForReplayOfItsLsn() {
+        routing.recordWrite(1_000L);
+        routing.recordLag(System.nanoTime(), Duration.ZERO, 900L);
+        assertFalse(routing.isReplicaFresh());
+
+        routing.recordLag(System.nanoTime(), Duration.ZERO, 1_000L);
+        assertTrue(routing.isReplicaFresh());
+    }
+
+    @Test
+    void testReplica_WithOlderWriteLsn_ShouldNotMoveBack() {
+        routing.recordWrite(2_000L);
+        routing.recordWrite(1_000L);
+        routing.recordLag(System.nanoTime(), Duration.ZERO, 1_500L);
+        assertFalse(routing.isReplicaFresh());
+    }
+}
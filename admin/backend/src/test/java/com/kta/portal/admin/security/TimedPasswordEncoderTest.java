@@ -0,0 +1,39 @@
+package com.kta.portal.admin.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimedPasswordEncoderTest {
+
+    @Test
+    void testEncodeAndMatches_ShouldRecordOutcomes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordEncoder encoder = new TimedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(), registry);
+
+        String hash = encoder.encode("secret");
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+
+        assertEquals(1, registry.get("password.encoder").tag("operation", "encode").tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get("password.encoder").tag("operation", "matches").tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get("password.encoder").tag("operation", "matches").tag("outcome", "mismatch").timer().count());
+    }
+
+    @Test
+    void testAlgorithmAndCost_ShouldComeFromStoredHash() {
+        String bcrypt = PasswordEncoderFactories.createDelegatingPasswordEncoder().encode("secret");
+
+        assertEquals("bcrypt", TimedPasswordEncoder.algorithm(bcrypt));
+        assertEquals(10, TimedPasswordEncoder.cost(bcrypt));
+        assertEquals("noop", TimedPasswordEncoder.algorithm("{noop}admin"));
+        assertEquals(-1, TimedPasswordEncoder.cost("{noop}admin"));
+        assertEquals("unknown", TimedPasswordEncoder.algorithm("plain"));
+        assertEquals(-1, TimedPasswordEncoder.cost(null));
+    }
+}
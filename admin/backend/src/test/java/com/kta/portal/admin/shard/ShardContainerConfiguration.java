@@ -0,0 +1,38 @@
+package com.kta.portal.admin.shard;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistrar;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Two more PostgreSQL containers as shards 1 and 2; shard 0 is the regular test database.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class ShardContainerConfiguration {
+
+    @Bean
+    PostgreSQLContainer<?> shard1Container() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+    }
+
+    @Bean
+    PostgreSQLContainer<?> shard2Container() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+    }
+
+    @Bean
+    DynamicPropertyRegistrar shardProperties(@Qualifier("shard1Container") PostgreSQLContainer<?> shard1,
+                                             @Qualifier("shard2Container") PostgreSQLContainer<?> shard2) {
+        return registry -> {
+            registry.add("shard.nodes[0].jdbc-url", shard1::getJdbcUrl);
+            registry.add("shard.nodes[0].username", shard1::getUsername);
+            registry.add("shard.nodes[0].password", shard1::getPassword);
+            registry.add("shard.nodes[1].jdbc-url", shard2::getJdbcUrl);
+            registry.add("shard.nodes[1].username", shard2::getUsername);
+            registry.add("shard.nodes[1].password", shard2::getPassword);
+        };
+    }
+}
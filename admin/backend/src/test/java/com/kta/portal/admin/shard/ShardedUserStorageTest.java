@@ -0,0 +1,310 @@
+package com.kta.portal.admin.shard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kta.portal.admin.BaseIntegrationTest;
+import com.kta.portal.admin.config.BoundedDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@Import(ShardContainerConfiguration.class)
+@TestPropertySource(properties = {
+        "shard.enabled=true",
+        "db.limiter.enabled=true"
+})
+public class ShardedUserStorageTest extends BaseIntegrationTest {
+
+    private static final int USERS = 40;
+    private static final String[] USERID_PREFIXES = {"u", "U", "ü"};
+    private static final String[] NAMES = {
+            "name00", "Name01", "NAME02", "name03", "Émile", "émile", "Zoë",
+            "zoe", "김철수", "이영희", "Ärger", "apple", "Banana"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Gives every shard the schema, empties it (the seeded ids do not follow the shard
+     * layout) and creates the users through the API so each lands on its own shard.
+     * Names repeat and are not in id order, to exercise the merge and its tie-break, and
+     * mix case and non-ASCII letters, where code point order and a locale's order differ.
+     */
+    @BeforeEach
+    void setUpShards() throws Exception {
+        for (Shard shard : shardRouter.all()) {
+            if (shard.index() > 0) {
+                shard.jdbcTemplate().execute((ConnectionCallback<Void>) connection -> {
+                    ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/init.sql"));
+                    return null;
+                });
+            }
+            shard.jdbcTemplate().update("DELETE FROM users");
+        }
+        for (int i = 0; i < USERS; i++) {
+            createUser(USERID_PREFIXES[i % USERID_PREFIXES.length] + "%02d".formatted(i), NAMES[i * 7 % NAMES.length]);
+        }
+    }
+
+    @Test
+    void testUsers_ShouldBeSpreadAcrossShardsWithIdsNamingTheirShard() {
+        int total = 0;
+        for (Shard shard : shardRouter.all()) {
+            List<Long> ids = shard.jdbcTemplate().queryForList("SELECT id FROM users", Long.class);
+            assertTrue(ids.size() > 0, "Shard " + shard.index() + " holds no users");
+            for (Long id : ids) {
+                assertEquals(shard.index(), Math.floorMod(id, shardRouter.size()));
+            }
+            total += ids.size();
+        }
+        assertEquals(USERS, total);
+    }
+
+    @Test
+    void testGetUsers_ShouldMatchSingleNodeOrder() throws Exception {
+        Shard reference = copyAllUsersToReferenceTable();
+        Map<String, String> columns = Map.of(
+                "id", "id",
+                "userid", "userid COLLATE \"C\"",
+                "name", "name COLLATE \"C\"",
+                "createdAt", "created_at",
+                "updatedAt", "updated_at");
+        int[][] pages = {{0, 7}, {2, 7}, {5, 7}, {0, 100}, {3, 13}};
+        for (Map.Entry<String, String> column : columns.entrySet()) {
+            for (String direction : List.of("asc", "desc")) {
+                for (int[] page : pages) {
+                    List<Long> expected = reference.jdbcTemplate().queryForList("""
+                                    SELECT id
+                                    FROM users_reference
+                                    ORDER BY %s %s, id %s
+                                    LIMIT ? OFFSET ?
+                                    """.formatted(column.getValue(), direction, direction),
+                            Long.class, page[1], page[0] * page[1]);
+
+                    JsonNode data = getJson("/api/users?page=%d&size=%d&sortBy=%s&sortDir=%s&fields=id"
+                            .formatted(page[0], page[1], column.getKey(), direction)).get("data");
+                    List<Long> actual = new ArrayList<>();
+                    data.get("content").forEach(user -> actual.add(user.get("id").asLong()));
+
+                    assertEquals(expected, actual, column.getKey() + " " + direction + " page " + page[0] + " size " + page[1]);
+                    assertEquals(USERS, data.get("totalElements").asLong());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testUserCrud_ShouldRouteToOwningShard() throws Exception {
+        for (Shard shard : shardRouter.all()) {
+            long id = shard.jdbcTemplate().queryForObject("SELECT min(id) FROM users", Long.class);
+
+            mockMvc.perform(withAdminAuth(get("/api/users/" + id)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.id").value(id));
+
+            mockMvc.perform(withAdminAuth(put("/api/users/" + id))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "name": "renamed"
+                                    }
+                                    """))
+                    .andExpect(status().isOk());
+            assertEquals("renamed", shard.jdbcTemplate().queryForObject("SELECT name FROM users WHERE id = ?", String.class, id));
+
+            mockMvc.perform(withAdminAuth(delete("/api/users/" + id)))
+                    .andExpect(status().isOk());
+            assertEquals(0, shard.jdbcTemplate().queryForObject("SELECT count(*) FROM users WHERE id = ?", Integer.class, id));
+        }
+    }
+
+    @Test
+    void testGetUsersByIds_ShouldGatherFromEveryShard() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (Shard shard : shardRouter.all()) {
+            ids.add(String.valueOf(shard.jdbcTemplate().queryForObject("SELECT min(id) FROM users", Long.class)));
+        }
+        JsonNode data = getJson("/api/users?ids=" + String.join(",", ids)).get("data");
+        assertEquals(shardRouter.size(), data.size());
+    }
+
+    @Test
+    void testLoginRefreshLogout_ShouldUseTheUsersShard() throws Exception {
+        for (Shard shard : shardRouter.all()) {
+            String userid = shard.jdbcTemplate().queryForObject("SELECT min(userid) FROM users", String.class);
+            long id = shard.jdbcTemplate().queryForObject("SELECT id FROM users WHERE userid = ?", Long.class, userid);
+
+            String login = mockMvc.perform(post("/api/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "userid": "%s",
+                                        "password": "secret"
+                                    }
+                                    """.formatted(userid)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode tokens = objectMapper.readTree(login).get("data");
+            String refreshToken = tokens.get("refreshToken").asText();
+            assertEquals(1, shard.jdbcTemplate().queryForObject(
+                    "SELECT count(*) FROM refresh_tokens WHERE user_id = ?", Integer.class, id));
+
+            mockMvc.perform(post("/api/refresh")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "refreshToken": "%s"
+                                    }
+                                    """.formatted(refreshToken)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true));
+
+            mockMvc.perform(post("/api/logout")
+                            .header("Authorization", "Bearer " + tokens.get("accessToken").asText()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.message").value("Logged out successfully"));
+            assertEquals(0, shard.jdbcTemplate().queryForObject(
+                    "SELECT count(*) FROM refresh_tokens WHERE user_id = ?", Integer.class, id));
+        }
+    }
+
+    /**
+     * A trigger makes the insert fail after the old token was deleted; the delete must
+     * roll back with it on every shard, not only on the application data source.
+     */
+    @Test
+    void testLogin_WhenTokenInsertFails_ShouldKeepThePreviousToken() throws Exception {
+        for (Shard shard : shardRouter.all()) {
+            String userid = shard.jdbcTemplate().queryForObject("SELECT min(userid) FROM users", String.class);
+            long id = shard.jdbcTemplate().queryForObject("SELECT id FROM users WHERE userid = ?", Long.class, userid);
+            login(userid).andExpect(status().isOk());
+            String token = shard.jdbcTemplate().queryForObject(
+                    "SELECT token FROM refresh_tokens WHERE user_id = ?", String.class, id);
+
+            shard.jdbcTemplate().execute("""
+                    CREATE FUNCTION reject_refresh_token() RETURNS trigger AS $$
+                    BEGIN
+                        RAISE EXCEPTION 'refresh token insert rejected';
+                    END;
+                    $$ LANGUAGE plpgsql
+                    """);
+            shard.jdbcTemplate().execute("""
+                    CREATE TRIGGER reject_refresh_token BEFORE INSERT ON refresh_tokens
+                    FOR EACH ROW EXECUTE FUNCTION reject_refresh_token()
+                    """);
+            try {
+                login(userid).andExpect(status().isInternalServerError());
+            } finally {
+                shard.jdbcTemplate().execute("DROP TRIGGER reject_refresh_token ON refresh_tokens");
+                shard.jdbcTemplate().execute("DROP FUNCTION reject_refresh_token()");
+            }
+
+            assertEquals(List.of(token), shard.jdbcTemplate().queryForList(
+                    "SELECT token FROM refresh_tokens WHERE user_id = ?", String.class, id));
+        }
+    }
+
+    @Test
+    void testSingleNodeEndpoints_ShouldBeRejected() throws Exception {
+        mockMvc.perform(withAdminAuth(get("/api/users/export")))
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("$.errors[0].code").value("NOT_IMPLEMENTED"));
+    }
+
+    @Test
+    void testShardPools_ShouldBeBounded() {
+        for (Shard shard : shardRouter.all().subList(1, shardRouter.size())) {
+            BoundedDataSource bounded = assertInstanceOf(BoundedDataSource.class, shard.jdbcTemplate().getDataSource());
+            assertEquals(10, bounded.getLimit());
+            assertEquals(0, bounded.getInUse());
+        }
+    }
+
+    private ResultActions login(String userid) throws Exception {
+        return mockMvc.perform(post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "userid": "%s",
+                            "password": "secret"
+                        }
+                        """.formatted(userid)));
+    }
+
+    private void createUser(String userid, String name) throws Exception {
+        mockMvc.perform(withAdminAuth(post("/api/users"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "userid": "%s",
+                                    "password": "secret",
+                                    "name": "%s"
+                                }
+                                """.formatted(userid, name)))
+                .andExpect(status().isCreated());
+    }
+
+    /**
+     * Copies every user into one table on shard 0, which then answers as a single node would.
+     */
+    private Shard copyAllUsersToReferenceTable() {
+        Shard reference = shardRouter.all().getFirst();
+        reference.jdbcTemplate().execute("DROP TABLE IF EXISTS users_reference");
+        reference.jdbcTemplate().execute("""
+                CREATE TABLE users_reference (
+                    id BIGINT PRIMARY KEY,
+                    userid VARCHAR(50) NOT NULL,
+                    name VARCHAR(100) NOT NULL,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP NOT NULL
+                )
+                """);
+        for (Shard shard : shardRouter.all()) {
+            List<Object[]> rows = shard.jdbcTemplate().query(
+                    "SELECT id, userid, name, created_at, updated_at FROM users",
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3),
+                            rs.getTimestamp(4), rs.getTimestamp(5)});
+            reference.jdbcTemplate().batchUpdate(
+                    "INSERT INTO users_reference (id, userid, name, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                    rows);
+        }
+        return reference;
+    }
+
+    private JsonNode getJson(String uri) throws Exception {
+        String body = mockMvc.perform(withAdminAuth(get(uri)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,128 @@
+package com.kta.portal.admin.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records the SQL the current thread sends through the application {@code dataSource}
+ * while {@link #record} runs, so a test can count the statements behind one request.
+ * Statements still run against the Testcontainers database; other threads (listeners,
+ * schedulers) are not recorded. Enable with {@code @Import(StatementRecorder.class)}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementRecorder {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+    private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "addBatch");
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    @Bean
+    static BeanPostProcessor statementRecordingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new RecordingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * @return every statement the current thread issued while {@code action} ran, in order
+     */
+    public static List<String> record(Action action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        RECORDED.set(statements);
+        try {
+            action.run();
+        } finally {
+            RECORDED.remove();
+        }
+        return statements;
+    }
+
+    private static void add(Object sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null && sql instanceof String text) {
+            statements.add(text);
+        }
+    }
+
+    /**
+     * Proxies {@code type} with {@code handler}; equality stays identity-based so the
+     * transaction manager recognises the connection it bound.
+     */
+    private static <T> T recording(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Connection recording(Connection connection) {
+        return recording(Connection.class, (proxy, method, args) -> {
+            if (PREPARE_METHODS.contains(method.getName())) {
+                add(args[0]);
+            }
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && "createStatement".equals(method.getName())) {
+                return recording(Statement.class, (statementProxy, statementMethod, statementArgs) -> {
+                    if (EXECUTE_METHODS.contains(statementMethod.getName()) && statementArgs != null) {
+                        add(statementArgs[0]);
+                    }
+                    return invoke(statement, statementMethod, statementArgs);
+                });
+            }
+            return result;
+        });
+    }
+
+    private static final class RecordingDataSource extends DelegatingDataSource {
+
+        private RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 -- Initialize test database schema and data
 -- Drop tables in correct order to handle foreign key constraints
 DROP TABLE IF EXISTS refresh_tokens CASCADE;
+DROP TABLE IF EXISTS user_tombstones_pruned CASCADE;
+DROP TABLE IF EXISTS user_tombstones CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
 
 -- Create users table
@@ -10,11 +12,52 @@ CREATE TABLE users (
     password VARCHAR(255) NOT NULL,
     name VARCHAR(100) NOT NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    change_xid XID8 NOT NULL DEFAULT pg_current_xact_id()
 );
 
 -- Create unique index on userid
 CREATE UNIQUE INDEX idx_users_userid ON users(userid);
+CREATE INDEX idx_users_updated_at_id ON users(updated_at, id);
+CREATE INDEX idx_users_change_xid_id ON users(change_xid, id);
+
+-- Stamp every insert/update with the writing transaction id for GET /api/users/changes
+CREATE OR REPLACE FUNCTION users_set_change_xid() RETURNS trigger LANGUAGE plpgsql AS
+'BEGIN NEW.change_xid := pg_current_xact_id(); RETURN NEW; END;';
+
+CREATE TRIGGER trg_users_change_xid
+BEFORE INSERT OR UPDATE ON users
+FOR EACH ROW EXECUTE FUNCTION users_set_change_xid();
+
+-- Create tombstones of deleted users for GET /api/users/changes
+CREATE TABLE user_tombstones (
+    id BIGINT PRIMARY KEY,
+    userid VARCHAR(50) NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    change_xid XID8 NOT NULL DEFAULT pg_current_xact_id()
+);
+
+CREATE INDEX idx_user_tombstones_change_xid_id ON user_tombstones(change_xid, id);
+CREATE INDEX idx_user_tombstones_deleted_at ON user_tombstones(deleted_at);
+
+-- Newest transaction id whose tombstones were pruned; change tokens up to it must resync
+CREATE TABLE user_tombstones_pruned (
+    id BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    change_xid XID8 NOT NULL
+);
+
+INSERT INTO user_tombstones_pruned (change_xid) VALUES ('0');
+
+CREATE OR REPLACE FUNCTION users_record_tombstone() RETURNS trigger LANGUAGE plpgsql AS
+'BEGIN
+    INSERT INTO user_tombstones (id, userid) VALUES (OLD.id, OLD.userid)
+    ON CONFLICT (id) DO UPDATE SET userid = EXCLUDED.userid, deleted_at = EXCLUDED.deleted_at, change_xid = EXCLUDED.change_xid;
+    RETURN OLD;
+END;';
+
+CREATE TRIGGER trg_users_tombstone
+AFTER DELETE ON users
+FOR EACH ROW EXECUTE FUNCTION users_record_tombstone();
 
 -- Create refresh tokens table
 CREATE TABLE refresh_tokens (